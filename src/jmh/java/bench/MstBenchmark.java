@@ -0,0 +1,41 @@
+package bench;
+
+import algo.Engine;
+import cli.GraphGenerator;
+import graph.CsrGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MstBenchmark {
+
+    @Param({"30", "300", "1000", "2600"})
+    public int vertices;
+
+    @Param({"0.05", "0.3", "0.6"})
+    public double density;
+
+    @Param({"INT_1_100", "CONTINUOUS"})
+    public GraphGenerator.Weights weights;
+
+    @Param({"PRIM", "PRIM_EAGER", "KRUSKAL", "KRUSKAL_FILTER", "BORUVKA"})
+    public Engine engine;
+
+    private CsrGraph g;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        g = GraphGenerator.generateCsr(vertices, density, weights, 2025);
+    }
+
+    @Benchmark
+    public double mst() {
+        return engine.solve(g).totalCost;
+    }
+}
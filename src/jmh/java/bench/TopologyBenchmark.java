@@ -0,0 +1,47 @@
+package bench;
+
+import algo.Engine;
+import cli.GraphGenerator;
+import graph.CsrGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TopologyBenchmark {
+
+    @Param({"10000", "100000"})
+    public int vertices;
+
+    @Param({"RANDOM", "GRID", "GEOMETRIC_KNN", "POWER_LAW", "PRIM_ADVERSARIAL"})
+    public GraphGenerator.Topology topology;
+
+    @Param({"CONTINUOUS", "TIES_1_4", "EXPONENTIAL"})
+    public GraphGenerator.Weights weights;
+
+    @Param({"PRIM", "PRIM_EAGER", "KRUSKAL", "KRUSKAL_FILTER", "BORUVKA"})
+    public Engine engine;
+
+    private CsrGraph g;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // dense families are quadratic in V; keep their edge count comparable to the sparse ones
+        double param = switch (topology) {
+            case RANDOM -> 10.0 / vertices;
+            case PRIM_ADVERSARIAL -> 20.0 / vertices;
+            default -> topology.defaultParam;
+        };
+        g = GraphGenerator.generateCsr(topology, vertices, param, weights, 2025);
+    }
+
+    @Benchmark
+    public double mst() {
+        return engine.solve(g).totalCost;
+    }
+}
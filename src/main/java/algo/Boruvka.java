@@ -0,0 +1,86 @@
+package algo;
+
+import graph.ConcurrentUnionFind;
+import graph.CsrGraph;
+import graph.EdgeList;
+import graph.Graph;
+import metrics.Instrumentation;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+public class Boruvka {
+
+    public static MstResult mst(Graph g) {
+        return mst(g.toCsr());
+    }
+
+    public static MstResult mst(CsrGraph g) {
+        return mst(g, Instrumentation.forRun("boruvka"));
+    }
+
+    public static MstResult mst(CsrGraph g, Instrumentation ins) {
+        int n = g.size();
+        if (n == 0) return MstResult.empty();
+        EdgeList edges = g.edgeList();
+        int m = edges.size();
+
+        long t0 = System.nanoTime();
+
+        int[] comp = new int[n];
+        for (int i = 0; i < n; i++) comp[i] = i;
+        AtomicIntegerArray best = new AtomicIntegerArray(n);
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+        int[] chosen = new int[n - 1];
+        AtomicInteger size = new AtomicInteger();
+        LongAdder comparisons = new LongAdder();
+
+        while (size.get() < n - 1) {
+            long phase = ins.phaseStart();
+            IntStream.range(0, n).parallel().forEach(c -> best.set(c, -1));
+
+            IntStream.range(0, m).parallel().forEach(i -> {
+                int cu = comp[edges.u[i]], cv = comp[edges.v[i]];
+                if (cu == cv) return;
+                comparisons.add(offer(best, cu, i, edges) + offer(best, cv, i, edges));
+            });
+
+            int before = size.get();
+            IntStream.range(0, n).parallel().forEach(c -> {
+                int i = best.get(c);
+                if (i >= 0 && uf.union(edges.u[i], edges.v[i])) chosen[size.getAndIncrement()] = i;
+            });
+            if (size.get() != before) IntStream.range(0, n).parallel().forEach(v -> comp[v] = uf.find(v));
+            ins.phaseEnd(Instrumentation.Phase.ROUND, phase);
+            if (size.get() == before) break;
+        }
+
+        MstResult.Builder mst = MstResult.builder(size.get());
+        for (int k = 0; k < size.get(); k++) {
+            int i = chosen[k];
+            mst.add(edges.u[i], edges.v[i], edges.w[i]);
+        }
+
+        long t1 = System.nanoTime();
+        ins.comparisons(comparisons.sum()); ins.finds(uf.finds()); ins.unions(uf.unions());
+        ins.done();
+        if (mst.size() != n - 1) return MstResult.err("Graph is disconnected (Boruvka)");
+        return mst.ok(ins.total(), (t1 - t0) / 1e6);
+    }
+
+    private static int offer(AtomicIntegerArray best, int c, int i, EdgeList edges) {
+        int tries = 0;
+        while (true) {
+            int cur = best.get(c);
+            tries++;
+            if (cur >= 0 && !lighter(edges, i, cur)) return tries;
+            if (best.compareAndSet(c, cur, i)) return tries;
+        }
+    }
+
+    private static boolean lighter(EdgeList edges, int a, int b) {
+        return edges.w[a] < edges.w[b] || (edges.w[a] == edges.w[b] && a < b);
+    }
+}
@@ -0,0 +1,299 @@
+package algo;
+
+import graph.CsrGraph;
+import graph.Edge;
+
+import java.util.*;
+
+/**
+ * Minimum spanning forest maintained under edge updates with a link-cut tree.
+ * Every edge is a tree node of its own, so path-max queries find the heaviest
+ * tree edge on a cycle. Insertions and weight decreases use the cycle property
+ * and run in O(log V) amortized. Deleting a tree edge or raising its weight
+ * cuts it, then scans the non-tree edges in weight order for the lightest one
+ * that reconnects the two halves, which is O(E log V) in the worst case.
+ * The id and node of a removed edge are reused by later insertions, so memory
+ * follows the number of live edges rather than the number of updates.
+ */
+public class DynamicMst {
+    private static final int NIL = -1;
+
+    private final int n;
+    private int[] left, right, par, mx, stack;
+    private boolean[] rev;
+    private double[] val;
+
+    private int[] eu, ev;
+    private boolean[] inTree, alive;
+    private int[] free = new int[16];
+    private int edges = 0, freeCount = 0, treeSize = 0;
+    private double cost = 0;
+
+    private final TreeSet<Integer> nonTree;
+    private final Map<Long, Integer> byPair = new HashMap<>();
+
+    public DynamicMst(int n) {
+        this.n = n;
+        this.nonTree = new TreeSet<>((a, b) -> {
+            int c = Double.compare(val[n + a], val[n + b]);
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+        eu = new int[16]; ev = new int[16];
+        inTree = new boolean[16]; alive = new boolean[16];
+        int nodes = n + 16;
+        left = new int[nodes]; right = new int[nodes]; par = new int[nodes]; mx = new int[nodes]; stack = new int[nodes];
+        rev = new boolean[nodes]; val = new double[nodes];
+        for (int x = 0; x < nodes; x++) initNode(x, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Seeds the forest with {@code tree} and inserts the remaining edges of g. Any edge list is
+     * accepted: a partial or non-minimal tree is repaired by the insertions.
+     */
+    public static DynamicMst of(CsrGraph g, List<Edge> tree) {
+        DynamicMst d = new DynamicMst(g.size());
+        Map<Long, List<Double>> pending = new HashMap<>();
+        for (Edge e : tree) {
+            d.addEdge(e.u, e.v, e.w);
+            pending.computeIfAbsent(key(e.u, e.v), k -> new ArrayList<>(1)).add(e.w);
+        }
+        g.forEachEdge((u, v, w) -> {
+            List<Double> ws = pending.get(key(u, v));
+            if (ws != null && ws.remove((Double) w)) return;
+            d.insert(d.newEdge(u, v, w));
+        });
+        return d;
+    }
+
+    public int vertexCount() { return n; }
+    public int edgeCount() { return edges - freeCount; }
+    public int treeSize() { return treeSize; }
+    public double totalCost() { return cost; }
+    public boolean isTreeEdge(int id) { return alive[id] && inTree[id]; }
+    public double weight(int id) { return val[n + id]; }
+
+    public int edgeId(int u, int v) {
+        Integer id = byPair.get(key(u, v));
+        return id == null ? -1 : id;
+    }
+
+    public List<Edge> treeEdges() {
+        List<Edge> list = new ArrayList<>(treeSize);
+        for (int id = 0; id < edges; id++)
+            if (alive[id] && inTree[id]) list.add(new Edge(eu[id], ev[id], val[n + id]));
+        return list;
+    }
+
+    public int addEdge(int u, int v, double w) {
+        int id = newEdge(u, v, w);
+        insert(id);
+        return id;
+    }
+
+    public void updateWeight(int id, double w) {
+        checkAlive(id);
+        double old = val[n + id];
+        if (!inTree[id]) {
+            nonTree.remove(id);
+            setValue(id, w);
+            insert(id);
+        } else if (w <= old) {
+            setValue(id, w);
+            cost += w - old;
+        } else {
+            cutTreeEdge(id);
+            setValue(id, w);
+            nonTree.add(id);
+            reconnect();
+        }
+    }
+
+    public void removeEdge(int id) {
+        checkAlive(id);
+        alive[id] = false;
+        byPair.remove(key(eu[id], ev[id]), id);
+        if (!inTree[id]) nonTree.remove(id);
+        else { cutTreeEdge(id); reconnect(); }
+        // the edge's node is isolated now that it is cut, so it can be reset and reused
+        if (freeCount == free.length) free = Arrays.copyOf(free, 2 * freeCount);
+        free[freeCount++] = id;
+    }
+
+    public boolean connected(int u, int v) {
+        return findRoot(u) == findRoot(v);
+    }
+
+    public double maxOnPath(int u, int v) {
+        if (u == v || !connected(u, v)) return Double.NEGATIVE_INFINITY;
+        makeRoot(u); access(v);
+        return val[mx[v]];
+    }
+
+    private void insert(int id) {
+        int u = eu[id], v = ev[id];
+        if (!connected(u, v)) { linkTreeEdge(id); return; }
+        makeRoot(u); access(v);
+        int heaviest = mx[v] - n;
+        if (val[n + heaviest] > val[n + id]) {
+            cutTreeEdge(heaviest);
+            nonTree.add(heaviest);
+            linkTreeEdge(id);
+        } else nonTree.add(id);
+    }
+
+    private void reconnect() {
+        for (Iterator<Integer> it = nonTree.iterator(); it.hasNext(); ) {
+            int id = it.next();
+            if (findRoot(eu[id]) == findRoot(ev[id])) continue;
+            it.remove();
+            linkTreeEdge(id);
+            return;
+        }
+    }
+
+    private void linkTreeEdge(int id) {
+        int x = n + id;
+        link(eu[id], x); link(x, ev[id]);
+        inTree[id] = true; treeSize++; cost += val[x];
+    }
+
+    private void cutTreeEdge(int id) {
+        int x = n + id;
+        cut(eu[id], x); cut(x, ev[id]);
+        inTree[id] = false; treeSize--; cost -= val[x];
+    }
+
+    private int newEdge(int u, int v, double w) {
+        if (u < 0 || u >= n || v < 0 || v >= n) throw new IndexOutOfBoundsException();
+        if (u == v) throw new IllegalArgumentException("Self-loop not allowed");
+        int id;
+        if (freeCount > 0) id = free[--freeCount];
+        else {
+            if (edges == eu.length) grow(edges * 2);
+            id = edges++;
+        }
+        eu[id] = u; ev[id] = v; alive[id] = true; inTree[id] = false;
+        initNode(n + id, w);
+        byPair.put(key(u, v), id);
+        return id;
+    }
+
+    private void grow(int cap) {
+        eu = Arrays.copyOf(eu, cap); ev = Arrays.copyOf(ev, cap);
+        inTree = Arrays.copyOf(inTree, cap); alive = Arrays.copyOf(alive, cap);
+        int nodes = n + cap, old = left.length;
+        left = Arrays.copyOf(left, nodes); right = Arrays.copyOf(right, nodes); par = Arrays.copyOf(par, nodes);
+        mx = Arrays.copyOf(mx, nodes); stack = Arrays.copyOf(stack, nodes);
+        rev = Arrays.copyOf(rev, nodes); val = Arrays.copyOf(val, nodes);
+        for (int x = old; x < nodes; x++) initNode(x, Double.NEGATIVE_INFINITY);
+    }
+
+    private void checkAlive(int id) {
+        if (id < 0 || id >= edges || !alive[id]) throw new NoSuchElementException("No such edge: " + id);
+    }
+
+    private static long key(int u, int v) {
+        long a = Math.min(u, v), b = Math.max(u, v);
+        return (a << 32) | b;
+    }
+
+    private void initNode(int x, double w) {
+        left[x] = right[x] = par[x] = NIL;
+        rev[x] = false; val[x] = w; mx[x] = x;
+    }
+
+    private void setValue(int id, double w) {
+        int x = n + id;
+        access(x);
+        val[x] = w;
+        pull(x);
+    }
+
+    private boolean isRoot(int x) {
+        int p = par[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void pull(int x) {
+        int m = x;
+        if (left[x] != NIL && val[mx[left[x]]] > val[m]) m = mx[left[x]];
+        if (right[x] != NIL && val[mx[right[x]]] > val[m]) m = mx[right[x]];
+        mx[x] = m;
+    }
+
+    private void push(int x) {
+        if (!rev[x]) return;
+        int t = left[x]; left[x] = right[x]; right[x] = t;
+        if (left[x] != NIL) rev[left[x]] ^= true;
+        if (right[x] != NIL) rev[right[x]] ^= true;
+        rev[x] = false;
+    }
+
+    private void rotate(int x) {
+        int p = par[x], g = par[p];
+        boolean pRoot = isRoot(p);
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NIL) par[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NIL) par[left[x]] = p;
+            left[x] = p;
+        }
+        par[p] = x; par[x] = g;
+        if (!pRoot) { if (left[g] == p) left[g] = x; else right[g] = x; }
+        pull(p); pull(x);
+    }
+
+    private void splay(int x) {
+        int top = 0;
+        stack[top++] = x;
+        for (int y = x; !isRoot(y); y = par[y]) stack[top++] = par[y];
+        while (top > 0) push(stack[--top]);
+        while (!isRoot(x)) {
+            int p = par[x];
+            if (!isRoot(p)) {
+                int g = par[p];
+                rotate((left[g] == p) == (left[p] == x) ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void access(int x) {
+        for (int last = NIL, y = x; y != NIL; last = y, y = par[y]) {
+            splay(y);
+            right[y] = last;
+            pull(y);
+        }
+        splay(x);
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        rev[x] ^= true;
+        push(x);
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        push(x);
+        while (left[x] != NIL) { x = left[x]; push(x); }
+        splay(x);
+        return x;
+    }
+
+    private void link(int x, int y) {
+        makeRoot(x);
+        par[x] = y;
+    }
+
+    private void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        left[y] = NIL;
+        par[x] = NIL;
+        pull(y);
+    }
+}
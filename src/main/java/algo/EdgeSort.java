@@ -0,0 +1,107 @@
+package algo;
+
+import graph.EdgeList;
+import metrics.Instrumentation;
+
+import java.util.Arrays;
+
+public final class EdgeSort {
+    private static final int INSERTION_THRESHOLD = 32;
+    private static final int MAX_COUNTING_RANGE = 1 << 16;
+
+    private EdgeSort() {}
+
+    public static void sort(EdgeList e, Instrumentation ins) {
+        sort(e, 0, e.size(), ins);
+    }
+
+    public static void sort(EdgeList e, int from, int to, Instrumentation ins) {
+        int len = to - from;
+        if (len < 2) return;
+        if (len <= INSERTION_THRESHOLD) { insertionSort(e, from, to, ins); return; }
+
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        boolean integral = true;
+        for (int i = from; i < to; i++) {
+            double w = e.w[i];
+            if (w < min) min = w;
+            if (w > max) max = w;
+            if (integral && (w != Math.rint(w) || Math.abs(w) > Integer.MAX_VALUE)) integral = false;
+        }
+        if (integral && max - min < Math.max(MAX_COUNTING_RANGE, 2L * len)) countingSort(e, from, to, (long) min, (int) (max - min) + 1, ins);
+        else radixSort(e, from, to, ins);
+    }
+
+    private static void insertionSort(EdgeList e, int from, int to, Instrumentation ins) {
+        int[] us = e.u, vs = e.v;
+        double[] ws = e.w;
+        long comparisons = 0, moves = 0;
+        for (int i = from + 1; i < to; i++) {
+            int u = us[i], v = vs[i];
+            double w = ws[i];
+            int j = i - 1;
+            while (j >= from) {
+                comparisons++;
+                if (ws[j] <= w) break;
+                us[j + 1] = us[j]; vs[j + 1] = vs[j]; ws[j + 1] = ws[j];
+                moves++;
+                j--;
+            }
+            us[j + 1] = u; vs[j + 1] = v; ws[j + 1] = w;
+        }
+        ins.comparisons(comparisons);
+        ins.moves(moves);
+    }
+
+    private static void countingSort(EdgeList e, int from, int to, long min, int range, Instrumentation ins) {
+        int len = to - from;
+        int[] count = new int[range + 1];
+        for (int i = from; i < to; i++) count[(int) ((long) e.w[i] - min) + 1]++;
+        for (int k = 0; k < range; k++) count[k + 1] += count[k];
+
+        int[] us = new int[len], vs = new int[len];
+        double[] ws = new double[len];
+        for (int i = from; i < to; i++) {
+            int at = count[(int) ((long) e.w[i] - min)]++;
+            us[at] = e.u[i]; vs[at] = e.v[i]; ws[at] = e.w[i];
+        }
+        System.arraycopy(us, 0, e.u, from, len);
+        System.arraycopy(vs, 0, e.v, from, len);
+        System.arraycopy(ws, 0, e.w, from, len);
+        ins.moves(2L * len);
+    }
+
+    private static void radixSort(EdgeList e, int from, int to, Instrumentation ins) {
+        int len = to - from;
+        long[] ka = new long[len], kb = new long[len];
+        int[] ua = new int[len], ub = new int[len], va = new int[len], vb = new int[len];
+        double[] wa = new double[len], wb = new double[len];
+        for (int i = 0; i < len; i++) {
+            long bits = Double.doubleToLongBits(e.w[from + i]);
+            ka[i] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+            ua[i] = e.u[from + i]; va[i] = e.v[from + i]; wa[i] = e.w[from + i];
+        }
+
+        int[] count = new int[1 << 16];
+        for (int shift = 0; shift < 64; shift += 16) {
+            Arrays.fill(count, 0);
+            for (int i = 0; i < len; i++) count[(int) (ka[i] >>> shift) & 0xFFFF]++;
+            if (count[(int) (ka[0] >>> shift) & 0xFFFF] == len) continue;
+
+            for (int k = 0, sum = 0; k < count.length; k++) { int c = count[k]; count[k] = sum; sum += c; }
+            for (int i = 0; i < len; i++) {
+                int at = count[(int) (ka[i] >>> shift) & 0xFFFF]++;
+                kb[at] = ka[i]; ub[at] = ua[i]; vb[at] = va[i]; wb[at] = wa[i];
+            }
+            ins.moves(len);
+
+            long[] tk = ka; ka = kb; kb = tk;
+            int[] tu = ua; ua = ub; ub = tu;
+            int[] tv = va; va = vb; vb = tv;
+            double[] tw = wa; wa = wb; wb = tw;
+        }
+        System.arraycopy(ua, 0, e.u, from, len);
+        System.arraycopy(va, 0, e.v, from, len);
+        System.arraycopy(wa, 0, e.w, from, len);
+    }
+}
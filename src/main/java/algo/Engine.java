@@ -0,0 +1,32 @@
+package algo;
+
+import graph.CsrGraph;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/** The in-memory MST engines, selectable by name from the command line or a request. */
+public enum Engine {
+    PRIM, PRIM_EAGER, KRUSKAL, KRUSKAL_FILTER, BORUVKA;
+
+    public MstResult solve(CsrGraph g) {
+        return switch (this) {
+            case PRIM -> Prim.mst(g);
+            case PRIM_EAGER -> Prim.mstEager(g);
+            case KRUSKAL -> Kruskal.mst(g);
+            case KRUSKAL_FILTER -> Kruskal.mstFilter(g);
+            case BORUVKA -> Boruvka.mst(g);
+        };
+    }
+
+    /** Field name used for this engine's block in the JSON output. */
+    public String key() { return name().toLowerCase(Locale.ROOT); }
+
+    public static Engine parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown engine " + name + ", expected one of " + Arrays.toString(values()));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package algo;
+
+import graph.EdgeList;
+import graph.UnionFind;
+import metrics.Instrumentation;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Euclidean MST of points in the plane without materializing the complete graph.
+ * Borůvka rounds over a k-d tree find, for every point, its nearest point in a
+ * different component; subtrees whose points all share the querying component are
+ * skipped. Each component's lightest outgoing edge (ties broken by endpoint ids) is
+ * an MST edge, so only V - 1 candidate edges are ever created. They go through
+ * {@link EdgeSort} and the union-find scan used by {@link Kruskal}, so the tree is
+ * reported in the same order as the graph engines report theirs.
+ */
+public final class EuclideanMst {
+
+    private EuclideanMst() {}
+
+    public static MstResult mst(double[] x, double[] y) {
+        return mst(x, y, Instrumentation.forRun("euclidean"));
+    }
+
+    public static MstResult mst(double[] x, double[] y, Instrumentation ins) {
+        int n = x.length;
+        if (y.length != n) throw new IllegalArgumentException("Expected " + n + " y coordinates, got " + y.length);
+        if (n == 0) return MstResult.empty();
+        for (int i = 0; i < n; i++)
+            if (!Double.isFinite(x[i]) || !Double.isFinite(y[i])) throw new IllegalArgumentException("Point " + i + " has a non-finite coordinate");
+
+        long t0 = System.nanoTime();
+        long phase = ins.phaseStart();
+        KdTree tree = new KdTree(x, y);
+        UnionFind uf = new UnionFind(n, false);
+        EdgeList candidates = new EdgeList(n);
+        int[] comp = new int[n], near = new int[n], members = new int[n], start = new int[n + 1];
+        double[] nearD = new double[n];
+        Arrays.fill(near, -1);
+        long finds = 0;
+
+        for (int components = n; components > 1; ) {
+            Arrays.fill(start, 0);
+            for (int v = 0; v < n; v++) start[(comp[v] = uf.find(v)) + 1]++;
+            finds += n;
+            for (int c = 0; c < n; c++) start[c + 1] += start[c];
+            int[] fill = Arrays.copyOf(start, n);
+            for (int v : tree.perm) members[fill[comp[v]]++] = v;
+            tree.label(comp);
+
+            int[] roots = IntStream.range(0, n).filter(c -> start[c + 1] > start[c]).toArray();
+            long[] picks = new long[roots.length];
+            IntStream.range(0, roots.length).parallel().forEach(k ->
+                    picks[k] = lightestOutgoing(tree, roots[k], members, start[roots[k]], start[roots[k] + 1], comp, near, nearD));
+
+            for (long pick : picks) {
+                int from = (int) (pick >>> 32), to = (int) pick;
+                int ra = uf.find(from), rb = uf.find(to); finds += 2;
+                if (ra == rb) continue; // the other component picked the same edge
+                uf.unionRoots(ra, rb);
+                double dx = x[from] - x[to], dy = y[from] - y[to];
+                candidates.add(from, to, Math.sqrt(dx * dx + dy * dy));
+                components--;
+            }
+        }
+        ins.phaseEnd(Instrumentation.Phase.ROUND, phase);
+
+        phase = ins.phaseStart();
+        EdgeSort.sort(candidates, ins);
+        ins.phaseEnd(Instrumentation.Phase.SORT, phase);
+
+        phase = ins.phaseStart();
+        UnionFind scan = new UnionFind(n, false);
+        MstResult.Builder mst = MstResult.builder(n - 1);
+        for (int i = 0, m = candidates.size(); i < m; i++) {
+            int ru = scan.find(candidates.u[i]); int rv = scan.find(candidates.v[i]); finds += 2;
+            if (ru != rv) { scan.unionRoots(ru, rv); mst.add(candidates.u[i], candidates.v[i], candidates.w[i]); }
+        }
+        ins.phaseEnd(Instrumentation.Phase.UNION_FIND, phase);
+        long t1 = System.nanoTime();
+        ins.comparisons(tree.visits.sum()); ins.finds(finds); ins.unions(mst.size());
+        ins.done();
+        return mst.ok(ins.total(), (t1 - t0) / 1e6);
+    }
+
+    /**
+     * Lightest edge leaving component c, packed as (from << 32 | to). The foreign point set only
+     * shrinks between rounds, so a cached nearest neighbour that is still foreign is still nearest;
+     * the remaining points search with the component's best so far as the bound.
+     */
+    private static long lightestOutgoing(KdTree tree, int c, int[] members, int from, int to, int[] comp, int[] near, double[] nearD) {
+        int bestA = -1, bestB = -1;
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            int p = members[i], q = near[p];
+            if (q >= 0 && comp[q] != c && (bestA < 0 || lighter(nearD[p], p, q, best, bestA, bestB))) { best = nearD[p]; bestA = p; bestB = q; }
+        }
+        for (int i = from; i < to; i++) {
+            int p = members[i], q = near[p];
+            if (q >= 0 && comp[q] != c) continue;
+            tree.nearestForeign(p, comp, best, near, nearD);
+            q = near[p];
+            if (q >= 0 && (bestA < 0 || lighter(nearD[p], p, q, best, bestA, bestB))) { best = nearD[p]; bestA = p; bestB = q; }
+        }
+        return (long) bestA << 32 | bestB;
+    }
+
+    /** Total order on edges: squared length, then smaller endpoint, then larger endpoint. */
+    private static boolean lighter(double d, int a, int b, double bestD, int bestA, int bestB) {
+        if (d != bestD) return d < bestD;
+        int lo = Math.min(a, b), bestLo = Math.min(bestA, bestB);
+        if (lo != bestLo) return lo < bestLo;
+        return Math.max(a, b) < Math.max(bestA, bestB);
+    }
+
+    private static final class KdTree {
+        private static final int LEAF = 8;
+
+        final double[] x, y;
+        final int[] perm;
+        /** Coordinates and current component of perm[i] at position i, so leaf scans are sequential. */
+        final double[] tx, ty;
+        final int[] tcomp;
+        final int[] lo, hi, left, right, label;
+        final double[] minX, maxX, minY, maxY;
+        final LongAdder visits = new LongAdder();
+        int nodes = 0;
+
+        KdTree(double[] x, double[] y) {
+            // median splits leave at least LEAF / 2 points per leaf, so at most 4n / LEAF nodes
+            int n = x.length, cap = 4 * n / LEAF + 4;
+            this.x = x; this.y = y;
+            perm = new int[n];
+            for (int i = 0; i < n; i++) perm[i] = i;
+            lo = new int[cap]; hi = new int[cap]; left = new int[cap]; right = new int[cap]; label = new int[cap];
+            minX = new double[cap]; maxX = new double[cap]; minY = new double[cap]; maxY = new double[cap];
+            build(0, n);
+            tx = new double[n]; ty = new double[n]; tcomp = new int[n];
+            for (int i = 0; i < n; i++) { tx[i] = x[perm[i]]; ty[i] = y[perm[i]]; }
+        }
+
+        private int build(int from, int to) {
+            int node = nodes++;
+            lo[node] = from; hi[node] = to;
+            double x0 = Double.POSITIVE_INFINITY, x1 = Double.NEGATIVE_INFINITY, y0 = x0, y1 = x1;
+            for (int i = from; i < to; i++) {
+                int p = perm[i];
+                x0 = Math.min(x0, x[p]); x1 = Math.max(x1, x[p]);
+                y0 = Math.min(y0, y[p]); y1 = Math.max(y1, y[p]);
+            }
+            minX[node] = x0; maxX[node] = x1; minY[node] = y0; maxY[node] = y1;
+            if (to - from <= LEAF) { left[node] = right[node] = -1; return node; }
+            int mid = (from + to) >>> 1;
+            select(from, to, mid, x1 - x0 >= y1 - y0 ? x : y);
+            left[node] = build(from, mid);
+            right[node] = build(mid, to);
+            return node;
+        }
+
+        /** Rearranges perm[from, to) so position k holds the k-th smallest key, smaller keys before it. */
+        private void select(int from, int to, int k, double[] key) {
+            int l = from, r = to - 1;
+            while (l < r) {
+                double pivot = key[perm[(l + r) >>> 1]];
+                int i = l, j = r;
+                while (i <= j) {
+                    while (key[perm[i]] < pivot) i++;
+                    while (key[perm[j]] > pivot) j--;
+                    if (i <= j) { int t = perm[i]; perm[i++] = perm[j]; perm[j--] = t; }
+                }
+                if (k <= j) r = j;
+                else if (k >= i) l = i;
+                else return;
+            }
+        }
+
+        /** Marks each node with the component shared by all its points, or -1. Children always follow their parent. */
+        void label(int[] comp) {
+            for (int i = 0; i < perm.length; i++) tcomp[i] = comp[perm[i]];
+            for (int node = nodes - 1; node >= 0; node--) {
+                if (left[node] < 0) {
+                    int c = tcomp[lo[node]];
+                    for (int i = lo[node] + 1; i < hi[node] && c >= 0; i++) if (tcomp[i] != c) c = -1;
+                    label[node] = c;
+                } else {
+                    int a = label[left[node]];
+                    label[node] = a == label[right[node]] ? a : -1;
+                }
+            }
+        }
+
+        /**
+         * Nearest point to p outside p's component, smallest id on ties, written to near[p] and
+         * nearD[p] (squared). When nothing lies within {@code bound} (squared), near[p] is -1.
+         */
+        void nearestForeign(int p, int[] comp, double bound, int[] near, double[] nearD) {
+            int c = comp[p];
+            double px = x[p], py = y[p], best = bound;
+            int bestQ = -1;
+            long visited = 0;
+            int[] stack = new int[64];
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int node = stack[--top];
+                if (label[node] == c || boxDistance(node, px, py) > best) continue;
+                visited++;
+                if (left[node] < 0) {
+                    for (int i = lo[node]; i < hi[node]; i++) {
+                        if (tcomp[i] == c) continue;
+                        double dx = tx[i] - px, dy = ty[i] - py, d = dx * dx + dy * dy;
+                        if (d < best || (d == best && (bestQ < 0 || perm[i] < bestQ))) { best = d; bestQ = perm[i]; }
+                    }
+                } else {
+                    int a = left[node], b = right[node];
+                    if (boxDistance(a, px, py) > boxDistance(b, px, py)) { int t = a; a = b; b = t; }
+                    stack[top++] = b;
+                    stack[top++] = a;
+                }
+            }
+            visits.add(visited);
+            near[p] = bestQ;
+            nearD[p] = best;
+        }
+
+        private double boxDistance(int node, double px, double py) {
+            double dx = Math.max(0, Math.max(minX[node] - px, px - maxX[node]));
+            double dy = Math.max(0, Math.max(minY[node] - py, py - maxY[node]));
+            return dx * dx + dy * dy;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package algo;
+
+import graph.EdgeList;
+import graph.IndexedMinHeap;
+import graph.UnionFind;
+import io.EdgeFile;
+import metrics.Instrumentation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kruskal over an {@link EdgeFile} that may be larger than the heap. Edges are
+ * read in chunks that fit the memory budget, sorted with {@link EdgeSort} and
+ * spilled as runs to the temp directory; the runs are then k-way merged
+ * straight into the union-find pass. When there are more runs than the budget
+ * (or 64 open files) allows, groups of runs are first merged
+ * into longer runs. Only the union-find arrays, the tree and one chunk (or the
+ * merge buffers) are resident at a time.
+ */
+public final class ExternalKruskal {
+    public static final long DEFAULT_MEMORY_BYTES = 64L << 20;
+
+    // EdgeList record plus the radix sort's key and scratch arrays
+    private static final int BYTES_PER_EDGE = 64;
+    private static final int MIN_MERGE_BUFFER = 64 * EdgeFile.RECORD_BYTES;
+    // each merge input holds a read buffer and an equally sized decoded batch
+    private static final int BUFFERS_PER_RUN = 2;
+    private static final int MAX_FAN_IN = 64;
+
+    private ExternalKruskal() {}
+
+    public static MstResult mst(File edges) {
+        return mst(edges, DEFAULT_MEMORY_BYTES, new File(System.getProperty("java.io.tmpdir")));
+    }
+
+    public static MstResult mst(File edges, long memoryBytes, File tempDir) {
+        return mst(edges, memoryBytes, tempDir, Instrumentation.forRun("kruskal-external"));
+    }
+
+    public static MstResult mst(File edges, long memoryBytes, File tempDir, Instrumentation ins) {
+        int chunk = (int) Math.max(1024, Math.min(Integer.MAX_VALUE - 8, memoryBytes / BYTES_PER_EDGE));
+        List<File> runs = new ArrayList<>(), spilled = new ArrayList<>();
+        long t0 = System.nanoTime();
+        try (EdgeFile.Reader in = new EdgeFile.Reader(edges)) {
+            int n = in.vertexCount();
+            if (n == 0) return MstResult.empty();
+            Scan scan = new Scan(n);
+
+            EdgeList buf = new EdgeList((int) Math.min(chunk, in.edgeCount()));
+            long phase = ins.phaseStart();
+            while (in.read(buf, chunk) > 0) {
+                EdgeSort.sort(buf, ins);
+                if (runs.isEmpty() && in.remaining() == 0) {
+                    ins.phaseEnd(Instrumentation.Phase.SORT, phase);
+                    phase = ins.phaseStart();
+                    for (int i = 0; i < buf.size() && !scan.complete(); i++) scan.offer(buf.u[i], buf.v[i], buf.w[i]);
+                    ins.phaseEnd(Instrumentation.Phase.UNION_FIND, phase);
+                    return scan.result(t0, ins);
+                }
+                File run = File.createTempFile("mst-run-", EdgeFile.EXTENSION, tempDir);
+                runs.add(run); spilled.add(run);
+                try (EdgeFile.Writer w = new EdgeFile.Writer(run, n)) { w.addAll(buf, 0, buf.size()); }
+                buf.clear();
+            }
+            buf = null;
+            ins.phaseEnd(Instrumentation.Phase.SORT, phase);
+
+            int fanIn = (int) Math.max(2, Math.min(MAX_FAN_IN, memoryBytes / ((long) BUFFERS_PER_RUN * MIN_MERGE_BUFFER) - 1));
+            phase = ins.phaseStart();
+            while (runs.size() > fanIn) {
+                List<File> next = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += fanIn) {
+                    List<File> group = runs.subList(from, Math.min(runs.size(), from + fanIn));
+                    if (group.size() == 1) { next.add(group.get(0)); continue; }
+                    File merged = File.createTempFile("mst-run-", EdgeFile.EXTENSION, tempDir);
+                    next.add(merged); spilled.add(merged);
+                    int bufferBytes = bufferBytes(memoryBytes, group.size() + 1);
+                    try (EdgeFile.Writer w = new EdgeFile.Writer(merged, n, bufferBytes)) {
+                        merge(group, bufferBytes, scan, w);
+                    }
+                    for (File run : group) run.delete();
+                }
+                runs.clear();
+                runs.addAll(next);
+            }
+            ins.phaseEnd(Instrumentation.Phase.SORT, phase);
+
+            phase = ins.phaseStart();
+            merge(runs, bufferBytes(memoryBytes, runs.size()), scan, null);
+            ins.phaseEnd(Instrumentation.Phase.UNION_FIND, phase);
+            return scan.result(t0, ins);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (File run : spilled) run.delete();
+        }
+    }
+
+    /** Per-stream buffer size when {@code streams} buffered files share the budget. */
+    private static int bufferBytes(long memoryBytes, int streams) {
+        return (int) Math.max(MIN_MERGE_BUFFER, Math.min(1 << 20, memoryBytes / ((long) BUFFERS_PER_RUN * streams)));
+    }
+
+    /** Merges the sorted runs into {@code out}, or into the union-find scan when {@code out} is null. */
+    private static void merge(List<File> runs, int bufferBytes, Scan scan, EdgeFile.Writer out) throws IOException {
+        int k = runs.size();
+        int batch = bufferBytes / EdgeFile.RECORD_BYTES;
+        EdgeFile.Reader[] readers = new EdgeFile.Reader[k];
+        EdgeList[] heads = new EdgeList[k];
+        int[] at = new int[k];
+        IndexedMinHeap heap = new IndexedMinHeap(k);
+        try {
+            for (int r = 0; r < k; r++) {
+                readers[r] = new EdgeFile.Reader(runs.get(r), bufferBytes);
+                heads[r] = new EdgeList(batch);
+                if (readers[r].read(heads[r], batch) > 0) heap.push(r, heads[r].w[0]);
+            }
+            while (!heap.isEmpty() && (out != null || !scan.complete())) {
+                int r = heap.poll();
+                EdgeList h = heads[r];
+                int i = at[r]++;
+                if (out != null) out.add(h.u[i], h.v[i], h.w[i]);
+                else scan.offer(h.u[i], h.v[i], h.w[i]);
+                if (at[r] == h.size()) {
+                    h.clear(); at[r] = 0;
+                    if (readers[r].read(h, batch) == 0) continue;
+                }
+                heap.push(r, h.w[at[r]]);
+            }
+            scan.comparisons += heap.comparisons;
+        } finally {
+            for (EdgeFile.Reader r : readers) if (r != null) r.close();
+        }
+    }
+
+    private static class Scan {
+        final int n;
+        final UnionFind uf;
+        final MstResult.Builder mst;
+        long finds = 0, comparisons = 0;
+
+        Scan(int n) {
+            this.n = n;
+            this.uf = new UnionFind(n, false);
+            this.mst = MstResult.builder(n - 1);
+        }
+
+        boolean complete() { return mst.size() == n - 1; }
+
+        void offer(int u, int v, double w) {
+            int ru = uf.find(u); int rv = uf.find(v); finds += 2;
+            if (ru != rv) { uf.unionRoots(ru, rv); mst.add(u, v, w); }
+        }
+
+        MstResult result(long t0, Instrumentation ins) {
+            long t1 = System.nanoTime();
+            ins.comparisons(comparisons); ins.finds(finds); ins.unions(mst.size());
+            ins.done();
+            if (!complete()) return MstResult.err("Graph is disconnected (Kruskal)");
+            return mst.ok(ins.total(), (t1 - t0) / 1e6);
+        }
+    }
+}
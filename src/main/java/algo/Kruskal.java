@@ -1,52 +1,146 @@
 package algo;
 
-import graph.Edge;
+import graph.CsrGraph;
+import graph.EdgeList;
 import graph.Graph;
 import graph.UnionFind;
-import metrics.Metrics;
+import metrics.Instrumentation;
 
-import java.util.*;
+import java.util.Random;
 
 public class Kruskal {
 
-    public static Result mst(Graph g) {
-        int n = g.size();
-        List<Edge> edges = new ArrayList<>(g.edges());
-        Metrics M = new Metrics();
+    public static MstResult mst(Graph g) {
+        return mst(g.toCsr());
+    }
+
+    public static MstResult mst(CsrGraph g) {
+        return mst(g, Instrumentation.forRun("kruskal"));
+    }
 
-        Comparator<Edge> cmp = (a, b) -> { M.comparisons++; return Double.compare(a.w, b.w); };
+    public static MstResult mst(CsrGraph g, Instrumentation ins) {
+        int n = g.size();
+        if (n == 0) return MstResult.empty();
+        EdgeList edges = g.edgeList();
 
         long t0 = System.nanoTime();
-        edges.sort(cmp);
-        UnionFind uf = new UnionFind(n);
-        List<Edge> mst = new ArrayList<>(n - 1);
-        for (Edge e : edges) {
-            int ru = uf.find(e.u); int rv = uf.find(e.v); M.ufFinds += 2;
+        long phase = ins.phaseStart();
+        EdgeSort.sort(edges, ins);
+        ins.phaseEnd(Instrumentation.Phase.SORT, phase);
+
+        phase = ins.phaseStart();
+        UnionFind uf = new UnionFind(n, false);
+        MstResult.Builder mst = MstResult.builder(n - 1);
+        long finds = 0;
+        for (int i = 0, m = edges.size(); i < m; i++) {
+            int ru = uf.find(edges.u[i]); int rv = uf.find(edges.v[i]); finds += 2;
             if (ru != rv) {
-                if (uf.union(ru, rv)) { M.ufUnions++; mst.add(e); }
+                uf.unionRoots(ru, rv);
+                mst.add(edges.u[i], edges.v[i], edges.w[i]);
+                if (mst.size() == n - 1) break;
             }
-            if (mst.size() == n - 1) break;
         }
+        ins.phaseEnd(Instrumentation.Phase.UNION_FIND, phase);
+        long t1 = System.nanoTime();
+        ins.finds(finds); ins.unions(mst.size());
+        ins.done();
+
+        if (mst.size() != n - 1) return MstResult.err("Graph is disconnected (Kruskal)");
+        return mst.ok(ins.total(), (t1 - t0) / 1e6);
+    }
+
+    public static MstResult mstFilter(Graph g) {
+        return mstFilter(g.toCsr());
+    }
+
+    public static MstResult mstFilter(CsrGraph g) {
+        return mstFilter(g, Instrumentation.forRun("kruskal-filter"));
+    }
+
+    public static MstResult mstFilter(CsrGraph g, Instrumentation ins) {
+        int n = g.size();
+        if (n == 0) return MstResult.empty();
+        Filter f = new Filter(g.edgeList(), n, ins);
+
+        long t0 = System.nanoTime();
+        f.run(0, f.edges.size());
         long t1 = System.nanoTime();
+        ins.comparisons(f.comparisons); ins.moves(f.moves); ins.finds(f.finds); ins.unions(f.mst.size());
+        ins.done();
 
-        if (mst.size() != n - 1) return Result.err("Graph is disconnected (Kruskal)");
-        double cost = mst.stream().mapToDouble(ed -> ed.w).sum();
-        M.ufFinds += uf.finds; M.ufUnions += uf.unions;
-        return Result.ok(mst, cost, M.total(), (t1 - t0) / 1e6);
+        if (f.mst.size() != n - 1) return MstResult.err("Graph is disconnected (Kruskal)");
+        return f.mst.ok(ins.total(), (t1 - t0) / 1e6);
     }
 
-    public static class Result {
-        public final List<Edge> edges;
-        public final double totalCost;
-        public final long operations;
-        public final double timeMs;
-        public final boolean success;
-        public final String error;
+    private static class Filter {
+        private static final int BASE_CASE = 256;
+
+        final EdgeList edges;
+        final int n;
+        final UnionFind uf;
+        final MstResult.Builder mst;
+        final Instrumentation ins;
+        long comparisons = 0, moves = 0, finds = 0;
+        private final Random rnd = new Random(17);
+
+        Filter(EdgeList edges, int n, Instrumentation ins) {
+            this.edges = edges; this.n = n; this.ins = ins;
+            this.uf = new UnionFind(n, false);
+            this.mst = MstResult.builder(n - 1);
+        }
 
-        private Result(List<Edge> edges, double totalCost, long operations, double timeMs, boolean success, String error) {
-            this.edges = edges; this.totalCost = totalCost; this.operations = operations; this.timeMs = timeMs; this.success = success; this.error = error;
+        void run(int from, int to) {
+            while (to - from > BASE_CASE && mst.size() < n - 1) {
+                long phase = ins.phaseStart();
+                double pivot = pivot(from, to);
+                int lt = from, i = from, gt = to;
+                while (i < gt) {
+                    double w = edges.w[i];
+                    comparisons++;
+                    if (w < pivot) edges.swap(lt++, i++);
+                    else if (w > pivot) edges.swap(i, --gt);
+                    else i++;
+                    moves++;
+                }
+                ins.phaseEnd(Instrumentation.Phase.PARTITION, phase);
+                run(from, lt);
+                scan(lt, gt);
+                from = filter(gt, to);
+            }
+            if (mst.size() < n - 1) {
+                long phase = ins.phaseStart();
+                EdgeSort.sort(edges, from, to, ins);
+                ins.phaseEnd(Instrumentation.Phase.SORT, phase);
+                scan(from, to);
+            }
+        }
+
+        private double pivot(int from, int to) {
+            double a = edges.w[from + rnd.nextInt(to - from)];
+            double b = edges.w[from + rnd.nextInt(to - from)];
+            double c = edges.w[from + rnd.nextInt(to - from)];
+            comparisons += 3;
+            return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+        }
+
+        private void scan(int from, int to) {
+            long phase = ins.phaseStart();
+            for (int i = from; i < to && mst.size() < n - 1; i++) {
+                int ru = uf.find(edges.u[i]); int rv = uf.find(edges.v[i]); finds += 2;
+                if (ru != rv) { uf.unionRoots(ru, rv); mst.add(edges.u[i], edges.v[i], edges.w[i]); }
+            }
+            ins.phaseEnd(Instrumentation.Phase.UNION_FIND, phase);
+        }
+
+        private int filter(int from, int to) {
+            long phase = ins.phaseStart();
+            int keep = to;
+            for (int i = to - 1; i >= from; i--) {
+                finds += 2;
+                if (uf.find(edges.u[i]) != uf.find(edges.v[i])) { edges.swap(i, --keep); moves++; }
+            }
+            ins.phaseEnd(Instrumentation.Phase.PARTITION, phase);
+            return keep;
         }
-        public static Result ok(List<Edge> e, double c, long op, double ms) { return new Result(e, c, op, ms, true, null); }
-        public static Result err(String msg) { return new Result(List.of(), 0, 0, 0, false, msg); }
     }
 }
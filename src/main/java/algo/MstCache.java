@@ -0,0 +1,163 @@
+package algo;
+
+import graph.CsrGraph;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of MST results keyed by engine name and {@link CsrGraph#fingerprint()}.
+ * The memory tier is an access-ordered LRU bounded by an estimate of the bytes
+ * held; the optional disk tier keeps one small binary file per tree in a
+ * directory so results survive between runs. Disk hits are promoted to memory.
+ * A hit comes back with zero operations and the lookup time as its time, so a
+ * cached tree is never reported as a fresh measurement. Both tiers store the
+ * graph's vertex and edge counts with the tree, and an entry whose counts differ
+ * from the queried graph's is a miss, so a fingerprint collision between graphs
+ * of different sizes never hands back the wrong tree.
+ */
+public class MstCache {
+    private static final int MAGIC = 0x4D535452;
+    private static final int VERSION = 2;
+    private static final long ENTRY_OVERHEAD = 96, BYTES_PER_EDGE = 48;
+
+    private final long maxBytes;
+    private final File dir;
+    private final LinkedHashMap<Key, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes = 0;
+
+    private final LongAdder hits = new LongAdder(), diskHits = new LongAdder(), misses = new LongAdder(), evictions = new LongAdder();
+
+    public MstCache(long maxBytes) { this(maxBytes, null); }
+
+    public MstCache(long maxBytes, File dir) {
+        this.maxBytes = maxBytes;
+        this.dir = dir;
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) throw new UncheckedIOException(new IOException("Cannot create cache directory " + dir));
+    }
+
+    private record Key(String engine, long fingerprint) {
+        static Key of(String engine, CsrGraph g) { return new Key(engine, g.fingerprint()); }
+
+        String fileName() { return engine + "-" + Long.toHexString(fingerprint) + ".mstr"; }
+    }
+
+    private record Entry(int n, int m, MstResult tree) {
+        static Entry of(CsrGraph g, MstResult tree) { return new Entry(g.size(), g.edgeCount(), tree); }
+
+        boolean matches(CsrGraph g) { return n == g.size() && m == g.edgeCount(); }
+    }
+
+    /** Returns the cached tree, or runs {@code solve} and caches its result. */
+    public MstResult get(String engine, CsrGraph g, Supplier<MstResult> solve) {
+        Key key = Key.of(engine, g);
+        MstResult t = lookup(key, g);
+        if (t != null) return t;
+        misses.increment();
+        t = solve.get();
+        store(key, Entry.of(g, t));
+        return t;
+    }
+
+    public MstResult get(String engine, CsrGraph g) {
+        MstResult t = lookup(Key.of(engine, g), g);
+        if (t == null) misses.increment();
+        return t;
+    }
+
+    public void put(String engine, CsrGraph g, MstResult t) {
+        store(Key.of(engine, g), Entry.of(g, t));
+    }
+
+    public long hits() { return hits.sum(); }
+    public long diskHits() { return diskHits.sum(); }
+    public long misses() { return misses.sum(); }
+    public long evictions() { return evictions.sum(); }
+    public synchronized int size() { return memory.size(); }
+    public synchronized long bytes() { return bytes; }
+
+    public String stats() {
+        return String.format(Locale.US, "cache: %d hits (%d from disk), %d misses, %d evictions, %d entries, %.1f MB",
+                hits(), diskHits(), misses(), evictions(), size(), bytes() / 1048576.0);
+    }
+
+    private MstResult lookup(Key key, CsrGraph g) {
+        long t0 = System.nanoTime();
+        synchronized (this) {
+            Entry e = memory.get(key);
+            if (e != null && e.matches(g)) { hits.increment(); return e.tree.withStats(0, (System.nanoTime() - t0) / 1e6); }
+        }
+        if (dir == null) return null;
+        Entry e = readDisk(new File(dir, key.fileName()));
+        if (e == null || !e.matches(g)) return null;
+        hits.increment(); diskHits.increment();
+        remember(key, e);
+        return e.tree.withStats(0, (System.nanoTime() - t0) / 1e6);
+    }
+
+    private void store(Key key, Entry e) {
+        remember(key, e);
+        if (dir != null) writeDisk(new File(dir, key.fileName()), e);
+    }
+
+    private synchronized void remember(Key key, Entry e) {
+        long size = weigh(e.tree);
+        if (size > maxBytes) return;
+        Entry old = memory.put(key, e);
+        if (old != null) bytes -= weigh(old.tree);
+        bytes += size;
+        for (Iterator<Map.Entry<Key, Entry>> it = memory.entrySet().iterator(); bytes > maxBytes && it.hasNext(); ) {
+            bytes -= weigh(it.next().getValue().tree);
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static long weigh(MstResult t) {
+        return ENTRY_OVERHEAD + BYTES_PER_EDGE * t.size();
+    }
+
+    private static Entry readDisk(File f) {
+        if (!f.isFile()) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(f), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+            int n = in.readInt(), m = in.readInt();
+            boolean success = in.readBoolean();
+            String error = success ? null : in.readUTF();
+            in.readDouble(); // total cost, summed again by the builder
+            double ms = in.readDouble();
+            long ops = in.readLong();
+            int count = in.readInt();
+            if (!success) return new Entry(n, m, MstResult.err(error).withStats(ops, ms));
+            MstResult.Builder b = MstResult.builder(count);
+            for (int i = 0; i < count; i++) b.add(in.readInt(), in.readInt(), in.readDouble());
+            return new Entry(n, m, b.ok(ops, ms));
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeDisk(File f, Entry entry) {
+        MstResult t = entry.tree;
+        try {
+            File tmp = File.createTempFile(f.getName(), ".tmp", f.getParentFile());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC); out.writeInt(VERSION);
+                out.writeInt(entry.n); out.writeInt(entry.m);
+                out.writeBoolean(t.success);
+                if (!t.success) out.writeUTF(t.error == null ? "" : t.error);
+                out.writeDouble(t.totalCost); out.writeDouble(t.timeMs);
+                out.writeLong(t.operations);
+                out.writeInt(t.size());
+                for (int i = 0; i < t.size(); i++) { out.writeInt(t.from(i)); out.writeInt(t.to(i)); out.writeDouble(t.weight(i)); }
+            }
+            Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("MST cache: could not write " + f + ": " + e.getMessage());
+        }
+    }
+}
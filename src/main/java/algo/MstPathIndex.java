@@ -0,0 +1,111 @@
+package algo;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Binary-lifting index over a computed tree or forest. Level {@code k} stores each
+ * vertex's 2^k-th ancestor and the heaviest edge on the way there in flat arrays,
+ * so the heaviest edge on any tree path takes O(log V). By the cycle property a
+ * new edge (u, v, w) enters the MST exactly when w is lighter than that edge, or
+ * when u and v are in different trees.
+ */
+public final class MstPathIndex {
+    private final int n, levels;
+    private final int[] up, depth, root;
+    private final double[] max;
+
+    private MstPathIndex(int n, int levels, int[] up, double[] max, int[] depth, int[] root) {
+        this.n = n; this.levels = levels; this.up = up; this.max = max; this.depth = depth; this.root = root;
+    }
+
+    public static MstPathIndex of(int n, MstResult tree) {
+        int m = tree.size();
+        int[] offsets = new int[n + 1], adj = new int[2 * m];
+        double[] w = new double[2 * m];
+        for (int i = 0; i < m; i++) { offsets[tree.from(i) + 1]++; offsets[tree.to(i) + 1]++; }
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < m; i++) {
+            int a = tree.from(i), b = tree.to(i);
+            adj[fill[a]] = b; w[fill[a]++] = tree.weight(i);
+            adj[fill[b]] = a; w[fill[b]++] = tree.weight(i);
+        }
+
+        int[] parent = new int[n], depth = new int[n], root = new int[n], queue = new int[n];
+        double[] up0 = new double[n];
+        Arrays.fill(root, -1);
+        int maxDepth = 0;
+        for (int s = 0; s < n; s++) {
+            if (root[s] >= 0) continue;
+            int head = 0, tail = 0;
+            queue[tail++] = s;
+            root[s] = s; parent[s] = s; up0[s] = Double.NEGATIVE_INFINITY;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = adj[i];
+                    if (root[v] >= 0) continue;
+                    root[v] = s; parent[v] = u; up0[v] = w[i]; depth[v] = depth[u] + 1;
+                    if (depth[v] > maxDepth) maxDepth = depth[v];
+                    queue[tail++] = v;
+                }
+            }
+        }
+
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(1, maxDepth));
+        int[] up = new int[levels * n];
+        double[] max = new double[levels * n];
+        System.arraycopy(parent, 0, up, 0, n);
+        System.arraycopy(up0, 0, max, 0, n);
+        for (int k = 1; k < levels; k++) {
+            int cur = k * n, prev = cur - n;
+            for (int v = 0; v < n; v++) {
+                int mid = up[prev + v];
+                up[cur + v] = up[prev + mid];
+                max[cur + v] = Math.max(max[prev + v], max[prev + mid]);
+            }
+        }
+        return new MstPathIndex(n, levels, up, max, depth, root);
+    }
+
+    public int size() { return n; }
+
+    public boolean connected(int u, int v) { return root[u] == root[v]; }
+
+    /** Heaviest edge weight on the tree path; -inf when u == v, +inf when u and v are in different trees. */
+    public double maxEdge(int u, int v) {
+        if (root[u] != root[v]) return Double.POSITIVE_INFINITY;
+        double best = Double.NEGATIVE_INFINITY;
+        if (depth[u] < depth[v]) { int t = u; u = v; v = t; }
+        for (int diff = depth[u] - depth[v], k = 0; diff > 0; diff >>>= 1, k++) {
+            if ((diff & 1) != 0) { best = Math.max(best, max[k * n + u]); u = up[k * n + u]; }
+        }
+        if (u == v) return best;
+        for (int k = levels - 1; k >= 0; k--) {
+            int a = up[k * n + u], b = up[k * n + v];
+            if (a != b) {
+                best = Math.max(best, Math.max(max[k * n + u], max[k * n + v]));
+                u = a; v = b;
+            }
+        }
+        return Math.max(best, Math.max(max[u], max[v]));
+    }
+
+    /** True when adding edge (u, v, w) would change the minimum spanning forest. */
+    public boolean wouldEnter(int u, int v, double w) {
+        return u != v && w < maxEdge(u, v);
+    }
+
+    public double[] maxEdges(int[] us, int[] vs) {
+        double[] out = new double[us.length];
+        IntStream.range(0, us.length).parallel().forEach(i -> out[i] = maxEdge(us[i], vs[i]));
+        return out;
+    }
+
+    public boolean[] wouldEnter(int[] us, int[] vs, double[] ws) {
+        boolean[] out = new boolean[us.length];
+        IntStream.range(0, us.length).parallel().forEach(i -> out[i] = wouldEnter(us[i], vs[i], ws[i]));
+        return out;
+    }
+}
@@ -0,0 +1,91 @@
+package algo;
+
+import graph.CsrGraph;
+import graph.Edge;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tree or forest produced by any MST engine, held as parallel primitive
+ * {@code from/to/weight} arrays. {@link #edges()} is a read-only view that
+ * creates {@link Edge} objects only for the elements actually read.
+ */
+public final class MstResult {
+    private static final int[] NO_INTS = new int[0];
+    private static final double[] NO_DOUBLES = new double[0];
+
+    private final int[] from, to;
+    private final double[] weight;
+    private final int size;
+
+    public final double totalCost;
+    public final long operations;
+    public final double timeMs;
+    public final boolean success;
+    public final String error;
+
+    private MstResult(int[] from, int[] to, double[] weight, int size, double totalCost, long operations, double timeMs, boolean success, String error) {
+        this.from = from; this.to = to; this.weight = weight; this.size = size;
+        this.totalCost = totalCost; this.operations = operations; this.timeMs = timeMs; this.success = success; this.error = error;
+    }
+
+    public static MstResult empty() { return new MstResult(NO_INTS, NO_INTS, NO_DOUBLES, 0, 0, 0, 0, true, null); }
+    public static MstResult err(String msg) { return new MstResult(NO_INTS, NO_INTS, NO_DOUBLES, 0, 0, 0, 0, false, msg); }
+
+    public int size() { return size; }
+    public int from(int i) { return from[i]; }
+    public int to(int i) { return to[i]; }
+    public double weight(int i) { return weight[i]; }
+
+    public void forEachEdge(CsrGraph.EdgeVisitor visitor) {
+        for (int i = 0; i < size; i++) visitor.visit(from[i], to[i], weight[i]);
+    }
+
+    public List<Edge> edges() {
+        return new AbstractList<>() {
+            @Override public Edge get(int i) {
+                if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+                return new Edge(from[i], to[i], weight[i]);
+            }
+            @Override public int size() { return size; }
+        };
+    }
+
+    /** Same tree with a different operation count and time, e.g. when served from a cache. */
+    public MstResult withStats(long operations, double timeMs) {
+        return new MstResult(from, to, weight, size, totalCost, operations, timeMs, success, error);
+    }
+
+    public static Builder builder(int capacity) { return new Builder(capacity); }
+
+    /** Collects tree edges in the engine's main loop, summing the cost as it goes. */
+    public static final class Builder {
+        private int[] from, to;
+        private double[] weight;
+        private int size = 0;
+        private double cost = 0;
+
+        private Builder(int capacity) {
+            capacity = Math.max(0, capacity);
+            from = new int[capacity]; to = new int[capacity]; weight = new double[capacity];
+        }
+
+        public int size() { return size; }
+
+        public Builder add(int u, int v, double w) {
+            if (size == from.length) {
+                int cap = Math.max(16, size + (size >> 1));
+                from = Arrays.copyOf(from, cap); to = Arrays.copyOf(to, cap); weight = Arrays.copyOf(weight, cap);
+            }
+            from[size] = u; to[size] = v; weight[size] = w; size++;
+            cost += w;
+            return this;
+        }
+
+        public MstResult ok(long operations, double timeMs) {
+            return new MstResult(from, to, weight, size, cost, operations, timeMs, true, null);
+        }
+    }
+}
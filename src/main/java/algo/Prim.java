@@ -1,12 +1,14 @@
 package algo;
 
-import graph.Edge;
+import graph.CsrGraph;
 import graph.Graph;
-import metrics.Metrics;
+import graph.IndexedMinHeap;
+import metrics.Instrumentation;
 
-import java.util.*;
+import java.util.PriorityQueue;
 
 public class Prim {
+    public static final int DEFAULT_ARITY = 4;
 
     private static class Item implements Comparable<Item> {
         final int from, to; final double w;
@@ -14,53 +16,100 @@ public class Prim {
         @Override public int compareTo(Item o) { return Double.compare(this.w, o.w); }
     }
 
-    public static Result mst(Graph g) {
+    public static MstResult mst(Graph g) {
+        return mst(g.toCsr());
+    }
+
+    public static MstResult mst(CsrGraph g) {
+        return mst(g, Instrumentation.forRun("prim"));
+    }
+
+    public static MstResult mst(CsrGraph g, Instrumentation ins) {
         int n = g.size();
-        if (n == 0) return Result.ok(List.of(), 0, 0, 0);
+        if (n == 0) return MstResult.empty();
 
         boolean[] used = new boolean[n];
-        List<Edge> mst = new ArrayList<>(n - 1);
-        Metrics M = new Metrics();
+        MstResult.Builder mst = MstResult.builder(n - 1);
+        long comparisons = 0, pushes = 0, pops = 0, highWater = 0;
 
         long t0 = System.nanoTime();
+        long phase = ins.phaseStart();
 
         PriorityQueue<Item> pq = new PriorityQueue<>();
         used[0] = true;
-        for (Edge e : g.adj().get(0)) {
-            int other = (e.u == 0 ? e.v : e.u);
-            pq.offer(new Item(0, other, e.w)); M.pushes++;
+        for (int i = g.begin(0), end = g.end(0); i < end; i++) {
+            pq.offer(new Item(0, g.target(i), g.weight(i))); pushes++;
         }
 
         while (!pq.isEmpty() && mst.size() < n - 1) {
-            Item it = pq.poll(); M.pops++;
-            if (used[it.to]) { M.comparisons++; continue; }
+            if (pq.size() > highWater) highWater = pq.size();
+            Item it = pq.poll(); pops++;
+            if (used[it.to]) { comparisons++; continue; }
             used[it.to] = true;
-            mst.add(new Edge(it.from, it.to, it.w));
-            for (Edge e : g.adj().get(it.to)) {
-                int other = (e.u == it.to ? e.v : e.u);
-                if (!used[other]) { pq.offer(new Item(it.to, other, e.w)); M.pushes++; }
-                M.comparisons++;
+            mst.add(it.from, it.to, it.w);
+            for (int i = g.begin(it.to), end = g.end(it.to); i < end; i++) {
+                int other = g.target(i);
+                if (!used[other]) { pq.offer(new Item(it.to, other, g.weight(i))); pushes++; }
+                comparisons++;
             }
         }
 
+        ins.phaseEnd(Instrumentation.Phase.HEAP, phase);
         long t1 = System.nanoTime();
-        if (mst.size() != n - 1) return Result.err("Graph is disconnected (Prim)");
-        double cost = mst.stream().mapToDouble(e -> e.w).sum();
-        return Result.ok(mst, cost, M.total(), (t1 - t0) / 1e6);
+        ins.comparisons(comparisons); ins.pushes(pushes); ins.pops(pops); ins.heapSize(highWater);
+        ins.done();
+        if (mst.size() != n - 1) return MstResult.err("Graph is disconnected (Prim)");
+        return mst.ok(ins.total(), (t1 - t0) / 1e6);
+    }
+
+    public static MstResult mstEager(Graph g) {
+        return mstEager(g.toCsr(), DEFAULT_ARITY);
     }
 
-    public static class Result {
-        public final List<Edge> edges;
-        public final double totalCost;
-        public final long operations;
-        public final double timeMs;
-        public final boolean success;
-        public final String error;
+    public static MstResult mstEager(CsrGraph g) {
+        return mstEager(g, DEFAULT_ARITY);
+    }
 
-        private Result(List<Edge> edges, double totalCost, long operations, double timeMs, boolean success, String error) {
-            this.edges = edges; this.totalCost = totalCost; this.operations = operations; this.timeMs = timeMs; this.success = success; this.error = error;
+    public static MstResult mstEager(CsrGraph g, int arity) {
+        return mstEager(g, arity, Instrumentation.forRun("prim-eager"));
+    }
+
+    public static MstResult mstEager(CsrGraph g, int arity, Instrumentation ins) {
+        int n = g.size();
+        if (n == 0) return MstResult.empty();
+
+        boolean[] used = new boolean[n];
+        int[] parent = new int[n];
+        MstResult.Builder mst = MstResult.builder(n - 1);
+        long comparisons = 0, pushes = 0, pops = 0, highWater = 0;
+
+        long t0 = System.nanoTime();
+        long phase = ins.phaseStart();
+
+        IndexedMinHeap heap = new IndexedMinHeap(n, arity);
+        heap.push(0, 0); parent[0] = -1; pushes++;
+
+        while (!heap.isEmpty()) {
+            if (heap.size() > highWater) highWater = heap.size();
+            double w = heap.key(heap.peek());
+            int v = heap.poll(); pops++;
+            used[v] = true;
+            if (parent[v] >= 0) mst.add(parent[v], v, w);
+            for (int i = g.begin(v), end = g.end(v); i < end; i++) {
+                int other = g.target(i);
+                double ow = g.weight(i);
+                comparisons++;
+                if (used[other]) continue;
+                if (!heap.contains(other)) { parent[other] = v; heap.push(other, ow); pushes++; }
+                else if (ow < heap.key(other)) { parent[other] = v; heap.decreaseKey(other, ow); pushes++; }
+            }
         }
-        public static Result ok(List<Edge> e, double c, long op, double ms) { return new Result(e, c, op, ms, true, null); }
-        public static Result err(String msg) { return new Result(List.of(), 0, 0, 0, false, msg); }
+
+        ins.phaseEnd(Instrumentation.Phase.HEAP, phase);
+        long t1 = System.nanoTime();
+        ins.comparisons(comparisons + heap.comparisons); ins.pushes(pushes); ins.pops(pops); ins.heapSize(highWater);
+        ins.done();
+        if (mst.size() != n - 1) return MstResult.err("Graph is disconnected (Prim)");
+        return mst.ok(ins.total(), (t1 - t0) / 1e6);
     }
 }
@@ -0,0 +1,119 @@
+package algo;
+
+import graph.CsrGraph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Minimum spanning forest: a BFS pass over the CSR arrays labels the connected
+ * components, each component with an edge is extracted as its own CSR graph with
+ * local vertex ids, and the components are solved concurrently with the chosen
+ * engine. A connected input skips the extraction and runs the engine directly.
+ */
+public class SpanningForest {
+
+    public static Result msf(CsrGraph g) {
+        return msf(g, Engine.KRUSKAL);
+    }
+
+    public static Result msf(CsrGraph g, Engine engine) {
+        int n = g.size();
+        long t0 = System.nanoTime();
+        int[] component = new int[n];
+        int count = components(g, component);
+
+        int[] size = new int[count];
+        for (int c : component) size[c]++;
+        MstResult[] trees = new MstResult[count];
+        int[][] members = null;
+
+        if (count == 1) {
+            trees[0] = engine.solve(g);
+        } else {
+            int[] local = new int[n];
+            members = new int[count][];
+            int[] fill = new int[count];
+            for (int c = 0; c < count; c++) members[c] = new int[size[c]];
+            for (int v = 0; v < n; v++) { int c = component[v]; local[v] = fill[c]; members[c][fill[c]++] = v; }
+
+            Integer[] order = new Integer[count];
+            for (int c = 0; c < count; c++) order[c] = c;
+            Arrays.sort(order, (a, b) -> Integer.compare(size[b], size[a]));
+            int nonTrivial = 0;
+            while (nonTrivial < count && size[order[nonTrivial]] > 1) nonTrivial++;
+
+            int[][] byComponent = members;
+            IntStream.range(0, nonTrivial).parallel().forEach(k -> {
+                int c = order[k];
+                trees[c] = engine.solve(extract(g, byComponent[c], local));
+            });
+        }
+
+        MstResult.Builder forest = MstResult.builder(n - count);
+        double[] costs = new double[count];
+        long operations = 0;
+        for (int c = 0; c < count; c++) {
+            MstResult t = trees[c];
+            if (t == null) continue;
+            int[] ids = members == null ? null : members[c];
+            for (int i = 0; i < t.size(); i++) {
+                int u = t.from(i), v = t.to(i);
+                if (ids != null) { u = ids[u]; v = ids[v]; }
+                forest.add(u, v, t.weight(i));
+            }
+            costs[c] = t.totalCost;
+            operations += t.operations;
+        }
+        long t1 = System.nanoTime();
+        return new Result(forest.ok(operations, (t1 - t0) / 1e6), component, size, costs);
+    }
+
+    /** Labels every vertex with its component id, numbered by smallest vertex; returns the component count. */
+    public static int components(CsrGraph g, int[] component) {
+        int n = g.size();
+        Arrays.fill(component, 0, n, -1);
+        int[] queue = new int[n];
+        int count = 0;
+        for (int s = 0; s < n; s++) {
+            if (component[s] >= 0) continue;
+            int head = 0, tail = 0;
+            queue[tail++] = s;
+            component[s] = count;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                    int v = g.target(i);
+                    if (component[v] < 0) { component[v] = count; queue[tail++] = v; }
+                }
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private static CsrGraph extract(CsrGraph g, int[] members, int[] local) {
+        int edges = 0;
+        for (int v : members) edges += g.degree(v);
+        CsrGraph.Builder b = CsrGraph.builder(members.length).expectEdges(edges / 2);
+        for (int v : members)
+            for (int i = g.begin(v), end = g.end(v); i < end; i++) {
+                int t = g.target(i);
+                if (v < t) b.addEdge(local[v], local[t], g.weight(i));
+            }
+        return b.build();
+    }
+
+    public static class Result {
+        public final MstResult forest;
+        public final int[] component;
+        public final int[] componentSize;
+        public final double[] componentCost;
+
+        Result(MstResult forest, int[] component, int[] componentSize, double[] componentCost) {
+            this.forest = forest; this.component = component; this.componentSize = componentSize; this.componentCost = componentCost;
+        }
+
+        public int components() { return componentSize.length; }
+    }
+}
@@ -1,36 +1,96 @@
 package cli;
 
+import algo.Boruvka;
+import algo.EuclideanMst;
+import algo.ExternalKruskal;
 import algo.Kruskal;
+import algo.MstCache;
+import algo.MstResult;
 import algo.Prim;
-import graph.Graph;
+import algo.SpanningForest;
+import graph.CsrGraph;
+import graph.Labels;
 import io.CsvIO;
-import io.JsonIO;
+import io.EdgeFile;
+import io.GraphSource;
+import io.GraphStreamReader;
+import io.ResultWriter;
 
 import java.io.File;
 import java.io.PrintWriter;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 public class BenchmarkRunner {
-    private static final String[] LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".split("");
-    private static final Random RAND = new Random(2025);
-
-    private static String toAlphabetLabel(int index) {
-        StringBuilder sb = new StringBuilder();
-        while (index >= 0) {
-            sb.insert(0, LETTERS[index % 26]);
-            index = index / 26 - 1;
+    private static double roundMs(double ms) {
+        return Math.round(ms * 1000.0) / 1000.0;
+    }
+
+    private static final String USAGE = "Usage: BenchmarkRunner [--threads=N] [--virtual] [--max-in-flight=K] [options] [input files]";
+
+    /** Value of {@code name=N}, or def when absent; a non-integer value is an IllegalArgumentException naming the option. */
+    static int intOption(String[] args, String name, int def) {
+        for (String a : args) {
+            if (!a.startsWith(name + "=")) continue;
+            String value = a.substring(name.length() + 1);
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(name + " must be an integer, got " + value);
+            }
         }
-        return sb.toString();
+        return def;
     }
 
-    private static double clampMs(double ms) {
-        if (ms < 0.1) ms = 0.1 + RAND.nextDouble() * 0.1;
-        if (ms > 0.999) ms = 0.999;
-        return Math.round(ms * 1000.0) / 1000.0;
+    private static class Outcome {
+        final int graphId, V, E;
+        final MstResult p, k, b, e;
+        final SpanningForest.Result f;
+
+        Outcome(int graphId, int V, int E, MstResult p, MstResult k, MstResult b, MstResult e, SpanningForest.Result f) {
+            this.graphId = graphId; this.V = V; this.E = E; this.p = p; this.k = k; this.b = b; this.e = e; this.f = f;
+        }
+    }
+
+    private static ExecutorService executor(int threads, boolean virtual) {
+        if (virtual) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.out.println("Virtual threads need Java 21+, using " + threads + " platform threads");
+            }
+        }
+        return Executors.newFixedThreadPool(threads);
     }
 
     public static void main(String[] args) throws Exception {
-        String[] inputFiles = {
+        boolean eagerPrim = Arrays.asList(args).contains("--eager-prim");
+        boolean filterKruskal = Arrays.asList(args).contains("--filter-kruskal");
+        boolean boruvka = Arrays.asList(args).contains("--boruvka");
+        boolean compact = Arrays.asList(args).contains("--compact");
+        boolean virtual = Arrays.asList(args).contains("--virtual");
+        boolean forest = Arrays.asList(args).contains("--forest");
+        int threads, maxInFlight, memoryMb, cacheMb;
+        try {
+            threads = intOption(args, "--threads", 1);
+            if (threads < 1) throw new IllegalArgumentException("--threads must be at least 1, got " + threads);
+            maxInFlight = Math.max(1, intOption(args, "--max-in-flight", 2 * threads));
+            memoryMb = intOption(args, "--memory", (int) (ExternalKruskal.DEFAULT_MEMORY_BYTES >> 20));
+            cacheMb = intOption(args, "--cache", 256);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + ". " + USAGE);
+            return;
+        }
+        String cacheDir = Arrays.stream(args).filter(a -> a.startsWith("--cache-dir=")).map(a -> a.substring(12)).findFirst().orElse(null);
+        boolean cached = cacheDir != null || Arrays.stream(args).anyMatch(a -> a.equals("--cache") || a.startsWith("--cache="));
+        long memoryBytes = (long) memoryMb << 20;
+        File tmpDir = new File(Arrays.stream(args).filter(a -> a.startsWith("--tmp-dir=")).map(a -> a.substring(10)).findFirst()
+                .orElse(System.getProperty("java.io.tmpdir")));
+        MstCache cache = cached ? new MstCache((long) cacheMb << 20, cacheDir == null ? null : new File(cacheDir)) : null;
+
+        String[] inputFiles = Arrays.stream(args).filter(a -> !a.startsWith("--")).toArray(String[]::new);
+        if (inputFiles.length == 0) inputFiles = new String[]{
                 "src/main/resources/small_graphs.json",
                 "src/main/resources/medium_graphs.json",
                 "src/main/resources/large_graphs.json",
@@ -40,82 +100,111 @@ public class BenchmarkRunner {
         File output = new File("src/main/resources/ass_3_output.json");
         File csv = new File("summary.csv");
 
-        List<JsonIO.InputGraph> allGraphs = new ArrayList<>();
-
+        List<File> files = new ArrayList<>();
         for (String path : inputFiles) {
             File f = new File(path);
             if (!f.exists()) {
                 System.out.println("File not found: " + path);
                 continue;
             }
-            JsonIO.InputData data = JsonIO.readInput(f);
-            allGraphs.addAll(data.graphs);
+            files.add(f);
         }
 
-        if (allGraphs.isEmpty()) {
+        if (files.isEmpty()) {
             System.out.println("No graphs found — run GraphGenerator first!");
             return;
         }
 
-        JsonIO.OutputData outData = new JsonIO.OutputData();
+        output.getParentFile().mkdirs();
+        int graphCounter = 1;
+        ExecutorService pool = executor(threads, virtual);
+        Deque<Future<Outcome>> inFlight = new ArrayDeque<>();
 
-        try (PrintWriter pw = CsvIO.open(csv)) {
+        try (PrintWriter pw = CsvIO.open(csv);
+             ResultWriter out = new ResultWriter(output, !compact, Labels::toAlphabet)) {
             CsvIO.header(pw);
 
-            int graphCounter = 1;
-            for (JsonIO.InputGraph ig : allGraphs) {
-                List<String> alphaNames = new ArrayList<>();
-                for (int i = 0; i < ig.nodes.size(); i++) alphaNames.add(toAlphabetLabel(i));
-
-                Graph g = JsonIO.toGraph(ig);
-                int V = g.size(), E = g.edges().size();
-
-                var p = Prim.mst(g);
-                var k = Kruskal.mst(g);
-
-                double primMs = clampMs(p.timeMs);
-                double kruskalMs = clampMs(k.timeMs);
-
-                JsonIO.ResultItem item = new JsonIO.ResultItem();
-                item.graph_id = graphCounter++;
-                item.input_stats = Map.of("vertices", V, "edges", E);
-
-                item.prim = new JsonIO.AlgoOut();
-                if (p.success) {
-                    item.prim.mst_edges = new ArrayList<>();
-                    for (var e : p.edges)
-                        item.prim.mst_edges.add(JsonIO.edgeObj(alphaNames.get(e.u), alphaNames.get(e.v), e.w));
-                    item.prim.total_cost = p.totalCost;
-                    item.prim.operations_count = p.operations;
-                    item.prim.execution_time_ms = primMs;
-                } else item.prim.error = p.error;
-
-                item.kruskal = new JsonIO.AlgoOut();
-                if (k.success) {
-                    item.kruskal.mst_edges = new ArrayList<>();
-                    for (var e : k.edges)
-                        item.kruskal.mst_edges.add(JsonIO.edgeObj(alphaNames.get(e.u), alphaNames.get(e.v), e.w));
-                    item.kruskal.total_cost = k.totalCost;
-                    item.kruskal.operations_count = k.operations;
-                    item.kruskal.execution_time_ms = kruskalMs;
-                } else item.kruskal.error = k.error;
-
-                outData.results.add(item);
-
-                CsvIO.line(pw, item.graph_id, V, E,
-                        String.format(Locale.US, "%.0f", p.totalCost),
-                        String.format(Locale.US, "%.0f", k.totalCost),
-                        primMs, kruskalMs,
-                        "-", "-", p.operations, k.operations);
+            for (File f : files) {
+                if (EdgeFile.isEdgeFile(f)) {
+                    // flat edge streams may not fit in memory: only the external Kruskal runs on them
+                    while (!inFlight.isEmpty()) write(inFlight.poll().get(), out, pw);
+                    writeExternal(graphCounter++, f, ExternalKruskal.mst(f, memoryBytes, tmpDir), out, pw);
+                    continue;
+                }
+                try (GraphSource reader = GraphSource.open(f)) {
+                    for (GraphStreamReader.Entry entry; (entry = reader.next()) != null; ) {
+                        CsrGraph g = entry.graph;
+                        double[] x = entry.x, y = entry.y;
+                        int graphId = graphCounter++;
+                        // a point set without edges only has the Euclidean tree
+                        boolean edges = x == null || g.edgeCount() > 0;
+
+                        var p = edges ? CompletableFuture.supplyAsync(() -> solve(cache, eagerPrim ? "prim-eager" : "prim", g,
+                                () -> eagerPrim ? Prim.mstEager(g) : Prim.mst(g)), pool)
+                                : CompletableFuture.completedFuture((MstResult) null);
+                        var k = edges ? CompletableFuture.supplyAsync(() -> solve(cache, filterKruskal ? "kruskal-filter" : "kruskal", g,
+                                () -> filterKruskal ? Kruskal.mstFilter(g) : Kruskal.mst(g)), pool)
+                                : CompletableFuture.completedFuture((MstResult) null);
+                        var b = boruvka && edges ? CompletableFuture.supplyAsync(() -> solve(cache, "boruvka", g, () -> Boruvka.mst(g)), pool)
+                                : CompletableFuture.completedFuture((MstResult) null);
+                        var e = x != null ? CompletableFuture.supplyAsync(() -> EuclideanMst.mst(x, y), pool)
+                                : CompletableFuture.completedFuture((MstResult) null);
+                        var sf = forest && edges ? k.thenApplyAsync(t -> t.success ? null : SpanningForest.msf(g), pool)
+                                : CompletableFuture.completedFuture((SpanningForest.Result) null);
+                        inFlight.add(CompletableFuture.allOf(p, k, b, e, sf)
+                                .thenApply(done -> new Outcome(graphId, g.size(), g.edgeCount(), p.join(), k.join(), b.join(), e.join(), sf.join())));
+
+                        while (inFlight.size() >= maxInFlight || (!inFlight.isEmpty() && inFlight.peek().isDone()))
+                            write(inFlight.poll().get(), out, pw);
+                    }
+                }
             }
+            while (!inFlight.isEmpty()) write(inFlight.poll().get(), out, pw);
+        } finally {
+            pool.shutdownNow();
         }
 
-        output.getParentFile().mkdirs();
-        JsonIO.writeOutput(output, outData);
-
-        System.out.println("Processed graphs: " + allGraphs.size());
+        System.out.println("Processed graphs: " + (graphCounter - 1));
+        if (cache != null) System.out.println(cache.stats());
         System.out.println("JSON → " + output.getPath());
         System.out.println("CSV  → " + csv.getPath());
         System.out.println("30 graphs combined successfully (small + medium + large + extra)");
     }
+
+    private static MstResult solve(MstCache cache, String engine, CsrGraph g, Supplier<MstResult> run) {
+        return cache == null ? run.get() : cache.get(engine, g, run);
+    }
+
+    private static void writeExternal(int graphId, File f, MstResult k, ResultWriter out, PrintWriter pw) throws Exception {
+        int V, E;
+        try (EdgeFile.Reader in = new EdgeFile.Reader(f, EdgeFile.RECORD_BYTES)) {
+            V = in.vertexCount();
+            E = (int) Math.min(Integer.MAX_VALUE, in.edgeCount());
+        }
+        double kruskalMs = roundMs(k.timeMs);
+        out.beginResult(graphId, V, E);
+        out.algorithm("kruskal", k, kruskalMs);
+        out.endResult();
+        CsvIO.line(pw, graphId, V, E, "-", String.format(Locale.US, "%.0f", k.totalCost),
+                0, kruskalMs, "-", "-", 0, k.operations);
+    }
+
+    private static void write(Outcome o, ResultWriter out, PrintWriter pw) throws Exception {
+        double primMs = o.p == null ? 0 : roundMs(o.p.timeMs);
+        double kruskalMs = o.k == null ? 0 : roundMs(o.k.timeMs);
+
+        out.beginResult(o.graphId, o.V, o.E);
+        if (o.p != null) out.algorithm("prim", o.p, primMs);
+        if (o.k != null) out.algorithm("kruskal", o.k, kruskalMs);
+        if (o.b != null) out.algorithm("boruvka", o.b, roundMs(o.b.timeMs));
+        if (o.e != null) out.algorithm("euclidean", o.e, roundMs(o.e.timeMs));
+        if (o.f != null) out.forest(o.f.forest, o.f.componentCost, roundMs(o.f.forest.timeMs));
+        out.endResult();
+
+        CsvIO.line(pw, o.graphId, o.V, o.E,
+                o.p == null ? "-" : String.format(Locale.US, "%.0f", o.p.totalCost),
+                o.k == null ? "-" : String.format(Locale.US, "%.0f", o.k.totalCost),
+                primMs, kruskalMs,
+                "-", "-", o.p == null ? 0 : o.p.operations, o.k == null ? 0 : o.k.operations);
+    }
 }
@@ -0,0 +1,20 @@
+package cli;
+
+import io.BinaryGraphIO;
+
+import java.io.File;
+
+public class GraphConverter {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: GraphConverter <input.json|input" + BinaryGraphIO.EXTENSION + "> <output> [--compact]");
+            return;
+        }
+        File in = new File(args[0]), out = new File(args[1]);
+        long t0 = System.nanoTime();
+        if (BinaryGraphIO.isBinary(in)) BinaryGraphIO.binaryToJson(in, out, !(args.length > 2 && args[2].equals("--compact")));
+        else BinaryGraphIO.jsonToBinary(in, out);
+        System.out.printf("%s → %s (%d bytes, %.1f ms)%n", in.getPath(), out.getPath(), out.length(), (System.nanoTime() - t0) / 1e6);
+    }
+}
@@ -2,6 +2,13 @@ package cli;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import algo.EdgeSort;
+import graph.CsrGraph;
+import graph.EdgeList;
+import graph.Labels;
+import graph.LongHashSet;
+import graph.UnionFind;
+import metrics.Instrumentation;
 
 import java.io.File;
 import java.util.*;
@@ -79,17 +86,14 @@ public class GraphGenerator {
         g.id = id;
 
         g.nodes = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) g.nodes.add(toAlphabet(i));
+        for (int i = 0; i < n; i++) g.nodes.add(Labels.toAlphabet(i));
 
         g.edges = new ArrayList<>();
-        List<Integer> perm = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) perm.add(i);
-        Collections.shuffle(perm, r);
+        int[] perm = shuffled(n, r);
 
-        Set<Long> used = new HashSet<>();
+        LongHashSet used = new LongHashSet(n);
         for (int i = 1; i < n; i++) {
-            int u = perm.get(i - 1), v = perm.get(i);
-            addEdge(g, used, u, v, 1 + r.nextInt(100));
+            addEdge(g, used, perm[i - 1], perm[i], 1 + r.nextInt(100));
         }
 
         int maxEdges = n * (n - 1) / 2;
@@ -105,32 +109,234 @@ public class GraphGenerator {
         return g;
     }
 
-    private static void addEdge(GraphInput g, Set<Long> used, int u, int v, int w) {
+    public enum Weights {
+        INT_1_100 {
+            @Override public double next(Random r) { return 1 + r.nextInt(100); }
+            @Override public double at(double q) { return 1 + Math.min(99, (int) (q * 100)); }
+        },
+        CONTINUOUS {
+            @Override public double next(Random r) { return 1 + r.nextDouble() * 99; }
+            @Override public double at(double q) { return 1 + q * 99; }
+        },
+        /** Only four distinct values, so most comparisons are ties. */
+        TIES_1_4 {
+            @Override public double next(Random r) { return 1 + r.nextInt(4); }
+            @Override public double at(double q) { return 1 + Math.min(3, (int) (q * 4)); }
+        },
+        /** Exponential with mean 10: many cheap edges, a long tail of expensive ones. */
+        EXPONENTIAL {
+            @Override public double next(Random r) { return -10 * Math.log(1 - r.nextDouble()); }
+            @Override public double at(double q) { return -10 * Math.log(1 - q); }
+        };
+
+        public abstract double next(Random r);
+
+        /** Weight at quantile {@code q} in [0, 1); non-decreasing in {@code q}. */
+        public abstract double at(double q);
+    }
+
+    /**
+     * Graph families for benchmarking. {@code param} is the density for {@link #RANDOM},
+     * the diagonal shortcut probability for {@link #GRID}, the neighbour count for
+     * {@link #GEOMETRIC_KNN}, edges per new vertex for {@link #POWER_LAW} and the
+     * density for {@link #PRIM_ADVERSARIAL}.
+     */
+    public enum Topology {
+        /** Shuffled Hamiltonian path plus uniformly random extra edges. */
+        RANDOM(0.05),
+        /** Road-like lattice: right/down neighbours plus occasional diagonal shortcuts. */
+        GRID(0.1),
+        /** Random points in the unit square joined to their k nearest neighbours; longer edges get heavier weights. */
+        GEOMETRIC_KNN(6),
+        /** Barabási–Albert preferential attachment: a few hubs with very high degree. */
+        POWER_LAW(3),
+        /**
+         * Weights fall with discovery order, so lazy Prim keeps every pushed edge as a stale heap entry.
+         * Tied weight distributions weaken this, since the order only holds between distinct values.
+         */
+        PRIM_ADVERSARIAL(0.3);
+
+        public final double defaultParam;
+
+        Topology(double defaultParam) { this.defaultParam = defaultParam; }
+    }
+
+    public static CsrGraph generateCsr(Topology t, int n, Weights weights, long seed) {
+        return generateCsr(t, n, t.defaultParam, weights, seed);
+    }
+
+    public static CsrGraph generateCsr(Topology t, int n, double param, Weights weights, long seed) {
+        return switch (t) {
+            case RANDOM -> generateCsr(n, param, weights, seed);
+            case GRID -> grid(n, param, weights, new Random(seed));
+            case GEOMETRIC_KNN -> geometricKnn(n, (int) param, weights, new Random(seed));
+            case POWER_LAW -> powerLaw(n, (int) param, weights, new Random(seed));
+            case PRIM_ADVERSARIAL -> primAdversarial(n, param, weights, new Random(seed));
+        };
+    }
+
+    private static CsrGraph grid(int n, double diagonal, Weights weights, Random r) {
+        int cols = (int) Math.ceil(Math.sqrt(n));
+        CsrGraph.Builder b = CsrGraph.builder(n).expectEdges(2 * n + (int) (diagonal * n));
+        for (int u = 0; u < n; u++) {
+            int col = u % cols;
+            if (col + 1 < cols && u + 1 < n) b.addEdge(u, u + 1, weights.next(r));
+            if (u + cols < n) b.addEdge(u, u + cols, weights.next(r));
+            if (col + 1 < cols && u + cols + 1 < n && r.nextDouble() < diagonal) b.addEdge(u, u + cols + 1, weights.next(r) * Math.sqrt(2));
+        }
+        return b.build();
+    }
+
+    /**
+     * Adds the edges in order of their key, giving the edge of rank i the weight at quantile
+     * (i + 0.5) / m. The weights then follow the requested distribution while keeping the key's
+     * order, quantized into ties where the distribution has them.
+     */
+    private static CsrGraph byRank(int n, EdgeList edges, Weights weights) {
+        EdgeSort.sort(edges, Instrumentation.NONE);
+        int m = edges.size();
+        CsrGraph.Builder b = CsrGraph.builder(n).expectEdges(m);
+        for (int i = 0; i < m; i++) b.addEdge(edges.u[i], edges.v[i], weights.at((i + 0.5) / m));
+        return b.build();
+    }
+
+    private static CsrGraph geometricKnn(int n, int k, Weights weights, Random r) {
+        k = Math.max(1, Math.min(k, n - 1));
+        double[] x = new double[n], y = new double[n];
+        for (int i = 0; i < n; i++) { x[i] = r.nextDouble(); y[i] = r.nextDouble(); }
+
+        int side = Math.max(1, (int) Math.sqrt((double) n / k));
+        int[] cellStart = new int[side * side + 1], order = new int[n];
+        for (int i = 0; i < n; i++) cellStart[cell(x[i], y[i], side) + 1]++;
+        for (int c = 0; c < side * side; c++) cellStart[c + 1] += cellStart[c];
+        int[] fill = Arrays.copyOf(cellStart, cellStart.length);
+        for (int i = 0; i < n; i++) order[fill[cell(x[i], y[i], side)]++] = i;
+
+        EdgeList b = new EdgeList(n * k);
+        LongHashSet used = new LongHashSet(n * k);
+        UnionFind uf = new UnionFind(n, false);
+        int[] best = new int[k];
+        double[] bestD = new double[k];
+        for (int u = 0; u < n; u++) {
+            int found = 0;
+            int cx = Math.min(side - 1, (int) (x[u] * side)), cy = Math.min(side - 1, (int) (y[u] * side));
+            for (int ring = 0; ring <= side; ring++) {
+                for (int gy = cy - ring; gy <= cy + ring; gy++) {
+                    for (int gx = cx - ring; gx <= cx + ring; gx++) {
+                        if (gx < 0 || gy < 0 || gx >= side || gy >= side) continue;
+                        if (Math.max(Math.abs(gx - cx), Math.abs(gy - cy)) != ring) continue;
+                        for (int at = cellStart[gy * side + gx], end = cellStart[gy * side + gx + 1]; at < end; at++) {
+                            int v = order[at];
+                            if (v == u) continue;
+                            double d = Math.hypot(x[u] - x[v], y[u] - y[v]);
+                            if (found == k && d >= bestD[k - 1]) continue;
+                            int i = found < k ? found++ : k - 1;
+                            while (i > 0 && bestD[i - 1] > d) { best[i] = best[i - 1]; bestD[i] = bestD[i - 1]; i--; }
+                            best[i] = v; bestD[i] = d;
+                        }
+                    }
+                }
+                if (found == k && bestD[k - 1] <= (double) ring / side) break;
+            }
+            for (int i = 0; i < found; i++) {
+                if (!used.add(LongHashSet.pair(u, best[i]))) continue;
+                b.add(u, best[i], bestD[i]);
+                uf.union(u, best[i]);
+            }
+        }
+        // kNN graphs can split into clusters; join each cluster to the next through its representative
+        for (int u = 1, last = 0; u < n; u++) {
+            if (uf.find(u) == uf.find(last)) continue;
+            uf.union(u, last);
+            b.add(last, u, Math.hypot(x[u] - x[last], y[u] - y[last]));
+            last = u;
+        }
+        return byRank(n, b, weights);
+    }
+
+    private static int cell(double x, double y, int side) {
+        return Math.min(side - 1, (int) (y * side)) * side + Math.min(side - 1, (int) (x * side));
+    }
+
+    private static CsrGraph powerLaw(int n, int m, Weights weights, Random r) {
+        if (n < 2) return CsrGraph.builder(n).build();
+        m = Math.max(1, Math.min(m, n - 1));
+        CsrGraph.Builder b = CsrGraph.builder(n).expectEdges(n * m);
+        int[] ends = new int[2 * (m * (m + 1) / 2 + (n - m - 1) * m)];
+        int size = 0;
+        for (int u = 0; u <= m && u < n; u++)
+            for (int v = 0; v < u; v++) { b.addEdge(u, v, weights.next(r)); ends[size++] = u; ends[size++] = v; }
+        int[] picked = new int[m];
+        for (int t = m + 1; t < n; t++) {
+            int got = 0;
+            while (got < m) {
+                int v = ends[r.nextInt(size)];
+                boolean dup = false;
+                for (int i = 0; i < got; i++) if (picked[i] == v) { dup = true; break; }
+                if (!dup) picked[got++] = v;
+            }
+            for (int i = 0; i < m; i++) { b.addEdge(t, picked[i], weights.next(r)); ends[size++] = t; ends[size++] = picked[i]; }
+        }
+        return b.build();
+    }
+
+    private static CsrGraph primAdversarial(int n, double density, Weights weights, Random r) {
+        // lazy Prim from 0 reaches vertices in index order; every later vertex offers cheaper
+        // edges to the rest, so all earlier entries for those targets go stale in the heap
+        EdgeList b = new EdgeList((int) Math.min(Integer.MAX_VALUE - 8, (long) (density * n * (n - 1) / 2) + n));
+        double logq = density < 1 ? Math.log1p(-density) : 0;
+        for (int i = 0; i + 1 < n; i++) {
+            b.add(i, i + 1, (double) (n - i) * n + i + 1);
+            if (density <= 0) continue;
+            for (long j = i + 1; ; ) {
+                j += 1 + (density < 1 ? (long) (Math.log(1 - r.nextDouble()) / logq) : 0);
+                if (j >= n) break;
+                b.add(i, (int) j, (double) (n - i) * n + j);
+            }
+        }
+        return byRank(n, b, weights);
+    }
+
+    public static CsrGraph generateCsr(int n, double density, Weights weights, long seed) {
+        Random r = new Random(seed);
+        long maxEdges = (long) n * (n - 1) / 2;
+        int target = (int) Math.min(maxEdges, Math.max(n - 1, Math.round(density * maxEdges)));
+        CsrGraph.Builder b = CsrGraph.builder(n).expectEdges(target);
+
+        int[] perm = shuffled(n, r);
+
+        LongHashSet used = new LongHashSet(target);
+        for (int i = 1; i < n; i++) {
+            markIfNew(used, perm[i - 1], perm[i]);
+            b.addEdge(perm[i - 1], perm[i], weights.next(r));
+        }
+        for (int m = Math.max(0, n - 1); m < target; ) {
+            int u = r.nextInt(n), v = r.nextInt(n);
+            if (u == v || !markIfNew(used, u, v)) continue;
+            b.addEdge(u, v, weights.next(r));
+            m++;
+        }
+        return b.build();
+    }
+
+    private static int[] shuffled(int n, Random r) {
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        for (int i = n - 1; i > 0; i--) { int j = r.nextInt(i + 1); int t = perm[i]; perm[i] = perm[j]; perm[j] = t; }
+        return perm;
+    }
+
+    private static void addEdge(GraphInput g, LongHashSet used, int u, int v, int w) {
         InputEdge e = new InputEdge();
         e.from = g.nodes.get(u);
         e.to = g.nodes.get(v);
         e.weight = w;
         g.edges.add(e);
-        long a = Math.min(u, v), b = Math.max(u, v);
-        used.add((a << 32) ^ b);
+        used.add(LongHashSet.pair(u, v));
     }
 
-    private static boolean markIfNew(Set<Long> used, int u, int v) {
-        long a = Math.min(u, v), b = Math.max(u, v);
-        long k = (a << 32) ^ b;
-        if (used.contains(k)) return false;
-        used.add(k);
-        return true;
-    }
-
-    private static final String[] ABC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".split("");
-    private static String toAlphabet(int idx) {
-        StringBuilder sb = new StringBuilder();
-        while (idx >= 0) {
-            sb.insert(0, ABC[idx % 26]);
-            idx = idx / 26 - 1;
-        }
-        return sb.toString();
+    private static boolean markIfNew(LongHashSet used, int u, int v) {
+        return used.add(LongHashSet.pair(u, v));
     }
 
     public static class InputEdge {
@@ -0,0 +1,149 @@
+package cli;
+
+import graph.CsrGraph;
+import graph.EdgeList;
+import graph.LongHashSet;
+import io.BinaryGraphIO;
+import io.EdgeFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+import java.util.concurrent.*;
+
+/**
+ * Generator for graphs too large for {@link GraphGenerator}'s JSON output. A shuffled
+ * Hamiltonian path keeps the graph connected; the remaining edges are drawn as G(n, p)
+ * over the upper triangle, one block of rows per task, by skipping a geometric number
+ * of pairs between edges, so dense graphs cost O(E) rather than degrading into
+ * rejection sampling. Every block has its own seed and blocks are emitted in order, so
+ * the output depends only on the parameters and not on the thread count.
+ */
+public final class LargeGraphGenerator {
+    private static final int EDGES_PER_BLOCK = 1 << 18;
+
+    private LargeGraphGenerator() {}
+
+    public interface Sink {
+        void accept(EdgeList block) throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String out = null;
+        for (String a : args) if (!a.startsWith("--")) out = a;
+        if (out == null) {
+            System.out.println("Usage: LargeGraphGenerator --vertices=N [--density=D] [--weights=" + Arrays.toString(GraphGenerator.Weights.values())
+                    + "] [--topology=" + Arrays.toString(GraphGenerator.Topology.values()) + " [--param=P]] [--seed=S] [--threads=T] <out"
+                    + BinaryGraphIO.EXTENSION + "|out" + EdgeFile.EXTENSION + ">");
+            return;
+        }
+        int n = Integer.parseInt(option(args, "--vertices", "1000000"));
+        double density = Double.parseDouble(option(args, "--density", "0.00001"));
+        GraphGenerator.Weights weights = GraphGenerator.Weights.valueOf(option(args, "--weights", "INT_1_100"));
+        long seed = Long.parseLong(option(args, "--seed", "1"));
+        int threads = Integer.parseInt(option(args, "--threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        GraphGenerator.Topology topology = GraphGenerator.Topology.valueOf(option(args, "--topology", "RANDOM"));
+
+        File f = new File(out);
+        long t0 = System.nanoTime();
+        long edges;
+        if (topology != GraphGenerator.Topology.RANDOM) {
+            double param = Double.parseDouble(option(args, "--param", String.valueOf(topology.defaultParam)));
+            CsrGraph g = GraphGenerator.generateCsr(topology, n, param, weights, seed);
+            if (out.endsWith(EdgeFile.EXTENSION)) EdgeFile.write(f, g);
+            else try (BinaryGraphIO.Writer w = new BinaryGraphIO.Writer(f)) { w.write(1, g); }
+            edges = g.edgeCount();
+        } else if (out.endsWith(EdgeFile.EXTENSION)) {
+            try (EdgeFile.Writer w = new EdgeFile.Writer(f, n)) {
+                generate(n, density, weights, seed, threads, b -> w.addAll(b, 0, b.size()));
+                edges = w.count();
+            }
+        } else {
+            CsrGraph g = generateCsr(n, density, weights, seed, threads);
+            try (BinaryGraphIO.Writer w = new BinaryGraphIO.Writer(f)) { w.write(1, g); }
+            edges = g.edgeCount();
+        }
+        System.out.printf("%d vertices, %d edges → %s (%d bytes, %.1f ms)%n", n, edges, f.getPath(), f.length(), (System.nanoTime() - t0) / 1e6);
+    }
+
+    private static String option(String[] args, String name, String def) {
+        for (String a : args) if (a.startsWith(name + "=")) return a.substring(name.length() + 1);
+        return def;
+    }
+
+    public static CsrGraph generateCsr(int n, double density, GraphGenerator.Weights weights, long seed, int threads) {
+        CsrGraph.Builder b = CsrGraph.builder(n).expectEdges((int) Math.min(Integer.MAX_VALUE - 8, target(n, density)));
+        try {
+            generate(n, density, weights, seed, threads, e -> { for (int i = 0; i < e.size(); i++) b.addEdge(e.u[i], e.v[i], e.w[i]); });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return b.build();
+    }
+
+    /** Hands the backbone, then each block of sampled edges, to {@code sink} in a fixed order. */
+    public static void generate(int n, double density, GraphGenerator.Weights weights, long seed, int threads, Sink sink) throws IOException {
+        if (n < 2) return;
+        Random r = new Random(seed);
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        for (int i = n - 1; i > 0; i--) { int j = r.nextInt(i + 1); int t = perm[i]; perm[i] = perm[j]; perm[j] = t; }
+
+        EdgeList backbone = new EdgeList(n - 1);
+        LongHashSet path = new LongHashSet(n - 1);
+        for (int i = 1; i < n; i++) {
+            backbone.add(perm[i - 1], perm[i], weights.next(r));
+            path.add(LongHashSet.pair(perm[i - 1], perm[i]));
+        }
+        sink.accept(backbone);
+        backbone = null;
+
+        long maxEdges = (long) n * (n - 1) / 2;
+        double p = maxEdges == n - 1 ? 0 : (double) (target(n, density) - (n - 1)) / (maxEdges - (n - 1));
+        if (p <= 0) return;
+        int rows = (int) Math.max(1, Math.min(n, EDGES_PER_BLOCK / Math.max(1.0, p * n)));
+        int blocks = (n + rows - 1) / rows;
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        Deque<Future<EdgeList>> inFlight = new ArrayDeque<>();
+        try {
+            for (int blk = 0; blk < blocks; blk++) {
+                int lo = blk * rows, hi = Math.min(n, lo + rows);
+                long blockSeed = seed * 0x9E3779B97F4A7C15L + blk;
+                inFlight.add(pool.submit(() -> sample(n, lo, hi, p, path, weights, new Random(blockSeed))));
+                if (inFlight.size() >= 4 * Math.max(1, threads)) sink.accept(inFlight.poll().get());
+            }
+            while (!inFlight.isEmpty()) sink.accept(inFlight.poll().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Block generation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static long target(int n, double density) {
+        long maxEdges = (long) n * (n - 1) / 2;
+        return Math.min(maxEdges, Math.max(n - 1, Math.round(density * maxEdges)));
+    }
+
+    private static EdgeList sample(int n, int lo, int hi, double p, LongHashSet path, GraphGenerator.Weights weights, Random r) {
+        EdgeList e = new EdgeList((int) Math.min(1 << 20, Math.max(16, p * (hi - lo) * (n - (lo + hi) / 2.0))));
+        double logq = p < 1 ? Math.log1p(-p) : 0;
+        for (int u = lo; u < hi; u++) {
+            long v = u;
+            while (true) {
+                v += 1 + (p < 1 ? (long) (Math.log(1 - r.nextDouble()) / logq) : 0);
+                if (v >= n) break;
+                if (!path.contains(LongHashSet.pair(u, (int) v))) e.add(u, (int) v, weights.next(r));
+            }
+        }
+        return e;
+    }
+}
@@ -0,0 +1,222 @@
+package cli;
+
+import algo.Engine;
+import algo.MstResult;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import graph.CsrGraph;
+import graph.Labels;
+import io.BinaryGraphIO;
+import io.GraphSource;
+import io.GraphStreamReader;
+import io.ResultWriter;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-running localhost MST service, so repeated jobs run on a warm JVM.
+ * {@code POST /mst[?engine=kruskal&compact]} takes a body in the JsonIO input
+ * format or the binary {@code .mstg} format. Results are streamed back in the
+ * BenchmarkRunner output format as each graph is solved. Input that fails before the
+ * first graph gets 400; a failure later ends the document with an {@code "error"}
+ * field after the results already sent. Jobs run on a fixed
+ * worker pool behind a bounded queue; when the queue is full the request gets
+ * 503. {@code GET /stats} reports queue depth and latency percentiles.
+ */
+public class MstServer implements Closeable {
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int LATENCY_SAMPLES = 4096;
+
+    private final HttpServer http;
+    private final ThreadPoolExecutor workers;
+    private final Engine defaultEngine;
+
+    private final long[] latencyNanos = new long[LATENCY_SAMPLES];
+    private long latencyCount = 0;
+    private final AtomicLong requests = new AtomicLong(), rejected = new AtomicLong(), failed = new AtomicLong(), graphs = new AtomicLong();
+
+    public MstServer(int port, int threads, int queue, Engine defaultEngine) throws IOException {
+        this.defaultEngine = defaultEngine;
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                queue > 0 ? new ArrayBlockingQueue<>(queue) : new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        workers.prestartAllCoreThreads();
+        http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.setExecutor(Executors.newCachedThreadPool());
+        http.createContext("/mst", this::submit);
+        http.createContext("/stats", this::stats);
+        http.start();
+    }
+
+    public int port() { return http.getAddress().getPort(); }
+
+    public static void main(String[] args) throws Exception {
+        int port, threads, queue;
+        Engine engine;
+        try {
+            port = BenchmarkRunner.intOption(args, "--port", 8080);
+            threads = BenchmarkRunner.intOption(args, "--threads", Runtime.getRuntime().availableProcessors());
+            queue = BenchmarkRunner.intOption(args, "--queue", 4 * threads);
+            engine = Engine.parse(Arrays.stream(args).filter(a -> a.startsWith("--engine=")).map(a -> a.substring(9)).findFirst().orElse("kruskal"));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + ". Usage: MstServer [--port=P] [--threads=N] [--queue=Q] [--engine=NAME]");
+            return;
+        }
+
+        MstServer server = new MstServer(port, threads, queue, engine);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.printf("MST server on http://localhost:%d/mst (%d workers, queue %d, engine %s); stats at /stats%n",
+                server.port(), threads, queue, engine.key());
+    }
+
+    private void submit(HttpExchange ex) throws IOException {
+        if (!ex.getRequestMethod().equals("POST")) { reply(ex, 405, "Use POST"); return; }
+        long t0 = System.nanoTime();
+        requests.incrementAndGet();
+        Map<String, String> query = query(ex.getRequestURI());
+        Engine engine;
+        try {
+            engine = query.containsKey("engine") ? Engine.parse(query.get("engine")) : defaultEngine;
+        } catch (IllegalArgumentException e) {
+            reply(ex, 400, "Unknown engine " + query.get("engine") + ", expected one of " + Arrays.toString(Engine.values()));
+            return;
+        }
+        boolean indent = !query.containsKey("compact");
+        try {
+            workers.execute(() -> solve(ex, engine, indent, t0));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            reply(ex, 503, "Server busy: " + workers.getQueue().size() + " jobs queued");
+        }
+    }
+
+    private void solve(HttpExchange ex, Engine engine, boolean indent, long t0) {
+        File spooled = null;
+        boolean started = false;
+        try {
+            BufferedInputStream body = new BufferedInputStream(ex.getRequestBody(), 1 << 16);
+            body.mark(4);
+            byte[] magic = body.readNBytes(4);
+            body.reset();
+            GraphSource source;
+            if (magic.length == 4 && (magic[0] & 0xFF | (magic[1] & 0xFF) << 8 | (magic[2] & 0xFF) << 16 | (magic[3] & 0xFF) << 24) == BinaryGraphIO.MAGIC) {
+                spooled = File.createTempFile("mst-request-", BinaryGraphIO.EXTENSION);
+                Files.copy(body, spooled.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                source = new BinaryGraphIO.Reader(spooled);
+            } else {
+                source = new GraphStreamReader(body);
+            }
+
+            try (source) {
+                // parse the first graph before committing to a 200, so malformed input gets a 400
+                GraphStreamReader.Entry e = source.next();
+                ex.getResponseHeaders().set("Content-Type", "application/json");
+                ex.sendResponseHeaders(200, 0);
+                started = true;
+                CsrGraph[] current = new CsrGraph[1];
+                ResultWriter out = new ResultWriter(ex.getResponseBody(), indent,
+                        i -> current[0].hasLabels() ? current[0].labelOf(i) : Labels.toAlphabet(i));
+                try {
+                    for (; e != null; e = source.next()) {
+                        current[0] = e.graph;
+                        MstResult r = engine.solve(e.graph);
+                        out.beginResult(e.id, e.graph.size(), e.graph.edgeCount());
+                        out.algorithm(engine.key(), r, Math.round(r.timeMs * 1000.0) / 1000.0);
+                        out.endResult();
+                        out.flush();
+                        graphs.incrementAndGet();
+                    }
+                } catch (IOException | RuntimeException err) {
+                    // the status is already sent, so the failure goes into the document instead
+                    try { out.fail(err.getMessage()); } catch (IOException ignored) {}
+                    throw err;
+                }
+                out.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            if (!started) try { reply(ex, 400, e.getMessage()); } catch (IOException | RuntimeException ignored) {}
+        } finally {
+            ex.close();
+            if (spooled != null) spooled.delete();
+            record(System.nanoTime() - t0);
+        }
+    }
+
+    private synchronized void record(long nanos) {
+        latencyNanos[(int) (latencyCount++ % LATENCY_SAMPLES)] = nanos;
+    }
+
+    private synchronized long[] latencies() {
+        return Arrays.copyOf(latencyNanos, (int) Math.min(latencyCount, LATENCY_SAMPLES));
+    }
+
+    private void stats(HttpExchange ex) throws IOException {
+        long[] lat = latencies();
+        Arrays.sort(lat);
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try (JsonGenerator gen = JSON.createGenerator(buf, JsonEncoding.UTF8)) {
+            gen.useDefaultPrettyPrinter();
+            gen.writeStartObject();
+            gen.writeNumberField("requests", requests.get());
+            gen.writeNumberField("graphs", graphs.get());
+            gen.writeNumberField("rejected", rejected.get());
+            gen.writeNumberField("failed", failed.get());
+            gen.writeNumberField("queue_depth", workers.getQueue().size());
+            gen.writeNumberField("active_workers", workers.getActiveCount());
+            gen.writeNumberField("workers", workers.getPoolSize());
+            gen.writeObjectFieldStart("latency_ms");
+            gen.writeNumberField("samples", lat.length);
+            for (int p : new int[]{50, 90, 99}) gen.writeNumberField("p" + p, percentile(lat, p));
+            gen.writeNumberField("max", lat.length == 0 ? 0 : lat[lat.length - 1] / 1e6);
+            gen.writeEndObject();
+            gen.writeEndObject();
+        }
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(200, buf.size());
+        try (ex; OutputStream os = ex.getResponseBody()) { buf.writeTo(os); }
+    }
+
+    private static double percentile(long[] sorted, int p) {
+        if (sorted.length == 0) return 0;
+        int i = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, i)] / 1e6;
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> q = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null) return q;
+        for (String kv : raw.split("&")) {
+            int eq = kv.indexOf('=');
+            if (eq < 0) q.put(kv, "");
+            else q.put(kv.substring(0, eq), kv.substring(eq + 1));
+        }
+        return q;
+    }
+
+    private static void reply(HttpExchange ex, int code, String message) throws IOException {
+        byte[] body = (message == null ? "" : message).getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        ex.sendResponseHeaders(code, body.length);
+        try (ex; OutputStream os = ex.getResponseBody()) { os.write(body); }
+    }
+
+    @Override
+    public void close() {
+        http.stop(0);
+        workers.shutdownNow();
+        ((ExecutorService) http.getExecutor()).shutdownNow();
+    }
+}
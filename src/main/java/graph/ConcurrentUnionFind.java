@@ -0,0 +1,60 @@
+package graph;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+    private final LongAdder finds = new LongAdder();
+    private final LongAdder unions = new LongAdder();
+
+    public ConcurrentUnionFind(int n) {
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) parent.set(i, i);
+    }
+
+    public int size() { return parent.length(); }
+    public long finds() { return finds.sum(); }
+    public long unions() { return unions.sum(); }
+
+    public int find(int x) {
+        finds.increment();
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int gp = parent.get(p);
+            if (p != gp) parent.compareAndSet(x, p, gp);
+            x = gp;
+        }
+    }
+
+    public boolean sameSet(int a, int b) {
+        while (true) {
+            int ra = find(a), rb = find(b);
+            if (ra == rb) return true;
+            if (parent.get(ra) == ra) return false;
+        }
+    }
+
+    public boolean union(int a, int b) {
+        unions.increment();
+        while (true) {
+            int ra = find(a), rb = find(b);
+            if (ra == rb) return false;
+            if (precedes(ra, rb)) {
+                if (parent.compareAndSet(ra, ra, rb)) return true;
+            } else if (parent.compareAndSet(rb, rb, ra)) return true;
+        }
+    }
+
+    private static boolean precedes(int a, int b) {
+        int ha = mix(a), hb = mix(b);
+        return ha < hb || (ha == hb && a < b);
+    }
+
+    private static int mix(int x) {
+        x ^= x >>> 16; x *= 0x85ebca6b;
+        x ^= x >>> 13; x *= 0xc2b2ae35;
+        return x ^ (x >>> 16);
+    }
+}
@@ -0,0 +1,137 @@
+package graph;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.*;
+
+public final class CsrGraph {
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final List<String> labels;
+    private long fingerprint;
+
+    CsrGraph(int n, int[] offsets, int[] targets, double[] weights, List<String> labels) {
+        this.n = n; this.offsets = offsets; this.targets = targets; this.weights = weights; this.labels = labels;
+    }
+
+    public static CsrGraph of(int n, int[] offsets, int[] targets, double[] weights, List<String> labels) {
+        if (offsets.length != n + 1 || offsets[0] != 0 || offsets[n] != targets.length || weights.length != targets.length)
+            throw new IllegalArgumentException("Inconsistent CSR arrays");
+        for (int u = 0; u < n; u++) if (offsets[u] > offsets[u + 1]) throw new IllegalArgumentException("Offsets must be non-decreasing");
+        if (labels != null && labels.size() != n) throw new IllegalArgumentException("Expected " + n + " labels, got " + labels.size());
+        return new CsrGraph(n, offsets, targets, weights, labels == null ? null : List.copyOf(labels));
+    }
+
+    public int size() { return n; }
+    public int edgeCount() { return targets.length / 2; }
+    public int begin(int u) { return offsets[u]; }
+    public int end(int u) { return offsets[u + 1]; }
+    public int degree(int u) { return offsets[u + 1] - offsets[u]; }
+    public int target(int i) { return targets[i]; }
+    public double weight(int i) { return weights[i]; }
+    public IntBuffer offsets() { return IntBuffer.wrap(offsets).asReadOnlyBuffer(); }
+    public IntBuffer targets() { return IntBuffer.wrap(targets).asReadOnlyBuffer(); }
+    public DoubleBuffer weights() { return DoubleBuffer.wrap(weights).asReadOnlyBuffer(); }
+    public boolean hasLabels() { return labels != null; }
+    public String labelOf(int i) { return labels.get(i); }
+
+    /**
+     * 64-bit content hash of the vertex count and the weighted edge set. Edges are
+     * hashed one by one and summed, so slot order does not matter; labels do not take part.
+     */
+    public long fingerprint() {
+        long h = fingerprint;
+        if (h != 0) return h;
+        long sum = 0;
+        for (int u = 0; u < n; u++)
+            for (int i = offsets[u]; i < offsets[u + 1]; i++)
+                if (u < targets[i]) sum += mix(mix(((long) u << 32) | targets[i]) ^ Double.doubleToLongBits(weights[i]));
+        h = mix(sum ^ mix(n));
+        if (h == 0) h = 1;
+        return fingerprint = h;
+    }
+
+    private static long mix(long h) {
+        h += 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    public void forEachEdge(EdgeVisitor visitor) {
+        for (int u = 0; u < n; u++)
+            for (int i = offsets[u]; i < offsets[u + 1]; i++)
+                if (u < targets[i]) visitor.visit(u, targets[i], weights[i]);
+    }
+
+    public EdgeList edgeList() {
+        EdgeList list = new EdgeList(edgeCount());
+        forEachEdge(list::add);
+        return list;
+    }
+
+    public Graph toGraph() {
+        Graph g = new Graph(labels != null ? labels : Collections.nCopies(n, ""));
+        forEachEdge(g::addEdge);
+        return g;
+    }
+
+    public static Builder builder(int n) { return new Builder(n); }
+
+    @FunctionalInterface
+    public interface EdgeVisitor { void visit(int u, int v, double w); }
+
+    public static final class Builder {
+        private final int n;
+        private List<String> labels;
+        private int[] us = new int[16], vs = new int[16];
+        private double[] ws = new double[16];
+        private int m = 0;
+
+        private Builder(int n) {
+            if (n < 0) throw new IllegalArgumentException("Negative vertex count");
+            this.n = n;
+        }
+
+        public Builder labels(List<String> labels) {
+            if (labels.size() != n) throw new IllegalArgumentException("Expected " + n + " labels, got " + labels.size());
+            this.labels = List.copyOf(labels);
+            return this;
+        }
+
+        public Builder expectEdges(int edges) {
+            if (edges > us.length) grow(edges);
+            return this;
+        }
+
+        public Builder addEdge(int u, int v, double w) {
+            if (u < 0 || u >= n || v < 0 || v >= n) throw new IndexOutOfBoundsException();
+            if (u == v) throw new IllegalArgumentException("Self-loop not allowed");
+            if (m == us.length) grow(Math.max(16, m + (m >> 1)));
+            us[m] = u; vs[m] = v; ws[m] = w; m++;
+            return this;
+        }
+
+        private void grow(int cap) {
+            us = Arrays.copyOf(us, cap); vs = Arrays.copyOf(vs, cap); ws = Arrays.copyOf(ws, cap);
+        }
+
+        public CsrGraph build() {
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < m; i++) { offsets[us[i] + 1]++; offsets[vs[i] + 1]++; }
+            for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+
+            int[] pos = Arrays.copyOf(offsets, n);
+            int[] targets = new int[2 * m];
+            double[] weights = new double[2 * m];
+            for (int i = 0; i < m; i++) {
+                int a = pos[us[i]]++, b = pos[vs[i]]++;
+                targets[a] = vs[i]; weights[a] = ws[i];
+                targets[b] = us[i]; weights[b] = ws[i];
+            }
+            return new CsrGraph(n, offsets, targets, weights, labels);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package graph;
+
+import java.util.Arrays;
+
+public class EdgeList {
+    public int[] u, v;
+    public double[] w;
+    private int size = 0;
+
+    public EdgeList(int capacity) {
+        u = new int[capacity]; v = new int[capacity]; w = new double[capacity];
+    }
+
+    public int size() { return size; }
+
+    public void add(int a, int b, double weight) {
+        if (size == u.length) {
+            int cap = Math.max(16, size + (size >> 1));
+            u = Arrays.copyOf(u, cap); v = Arrays.copyOf(v, cap); w = Arrays.copyOf(w, cap);
+        }
+        u[size] = a; v[size] = b; w[size] = weight; size++;
+    }
+
+    public void swap(int i, int j) {
+        int t = u[i]; u[i] = u[j]; u[j] = t;
+        t = v[i]; v[i] = v[j]; v[j] = t;
+        double tw = w[i]; w[i] = w[j]; w[j] = tw;
+    }
+
+    public void clear() { size = 0; }
+}
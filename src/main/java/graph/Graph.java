@@ -1,11 +1,14 @@
 package graph;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 public class Graph {
     private final int n;
     private final List<String> labels;
     private final List<List<Edge>> adj;
+    private Map<String, Integer> index;
+    private int m = 0;
 
     public Graph(List<String> labels) {
         this.n = labels.size();
@@ -16,7 +19,10 @@ public class Graph {
 
     public int size() { return n; }
     public String labelOf(int i) { return labels.get(i); }
-    public int indexOfLabel(String label) { return labels.indexOf(label); }
+    public int indexOfLabel(String label) {
+        if (index == null) index = Labels.indexOf(labels);
+        return index.getOrDefault(label, -1);
+    }
     public List<List<Edge>> adj() { return adj; }
 
     public void addEdge(int u, int v, double w) {
@@ -24,19 +30,61 @@ public class Graph {
         Edge e = new Edge(u, v, w);
         adj.get(u).add(e);
         adj.get(v).add(e);
+        m++;
     }
 
-    public List<Edge> edges() {
-        List<Edge> list = new ArrayList<>();
-        boolean[][] seen = new boolean[n][n];
+    public CsrGraph toCsr() {
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + adj.get(u).size();
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
         for (int u = 0; u < n; u++) {
+            int i = offsets[u];
             for (Edge e : adj.get(u)) {
-                if (!seen[e.u][e.v] && !seen[e.v][e.u]) {
-                    list.add(e);
-                    seen[e.u][e.v] = seen[e.v][e.u] = true;
-                }
+                targets[i] = (e.u == u ? e.v : e.u);
+                weights[i++] = e.w;
             }
         }
+        return new CsrGraph(n, offsets, targets, weights, List.copyOf(labels));
+    }
+
+    public int edgeCount() { return m; }
+
+    public List<Edge> edges() {
+        List<Edge> list = new ArrayList<>(m);
+        forEachEdge(list::add);
         return list;
     }
+
+    public void forEachEdge(Consumer<? super Edge> action) {
+        for (int u = 0; u < n; u++)
+            for (Edge e : adj.get(u))
+                if (e.u == u) action.accept(e);
+    }
+
+    public Iterator<Edge> edgeIterator() {
+        return new Iterator<>() {
+            private int u = 0, i = 0;
+            private Edge next = advance();
+
+            private Edge advance() {
+                for (; u < n; u++, i = 0) {
+                    List<Edge> list = adj.get(u);
+                    while (i < list.size()) {
+                        Edge e = list.get(i++);
+                        if (e.u == u) return e;
+                    }
+                }
+                return null;
+            }
+
+            @Override public boolean hasNext() { return next != null; }
+            @Override public Edge next() {
+                if (next == null) throw new NoSuchElementException();
+                Edge e = next;
+                next = advance();
+                return e;
+            }
+        };
+    }
 }
@@ -0,0 +1,99 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class IndexedMinHeap {
+    private final int d;
+    private final int[] heap;
+    private final int[] pos;
+    private final double[] keys;
+    private int size = 0;
+
+    public long comparisons = 0;
+
+    public IndexedMinHeap(int capacity) { this(capacity, 2); }
+
+    public IndexedMinHeap(int capacity, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("Heap arity must be at least 2");
+        d = arity;
+        heap = new int[capacity];
+        pos = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public boolean contains(int v) { return pos[v] >= 0; }
+    public double key(int v) { return keys[v]; }
+
+    public void push(int v, double key) {
+        if (pos[v] >= 0) throw new IllegalArgumentException("Index already in heap: " + v);
+        keys[v] = key;
+        heap[size] = v; pos[v] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int v, double key) {
+        if (pos[v] < 0) throw new NoSuchElementException("Index not in heap: " + v);
+        if (key > keys[v]) throw new IllegalArgumentException("New key is greater than current key");
+        keys[v] = key;
+        siftUp(pos[v]);
+    }
+
+    public int peek() {
+        if (size == 0) throw new NoSuchElementException();
+        return heap[0];
+    }
+
+    public int poll() {
+        if (size == 0) throw new NoSuchElementException();
+        int min = heap[0];
+        pos[min] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size]; pos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int v = heap[i];
+        double k = keys[v];
+        while (i > 0) {
+            int parent = (i - 1) / d;
+            int pv = heap[parent];
+            comparisons++;
+            if (keys[pv] <= k) break;
+            heap[i] = pv; pos[pv] = i;
+            i = parent;
+        }
+        heap[i] = v; pos[v] = i;
+    }
+
+    private void siftDown(int i) {
+        int v = heap[i];
+        double k = keys[v];
+        while (true) {
+            int first = d * i + 1;
+            if (first >= size) break;
+            int last = Math.min(first + d, size);
+            int best = first;
+            for (int c = first + 1; c < last; c++) {
+                comparisons++;
+                if (keys[heap[c]] < keys[heap[best]]) best = c;
+            }
+            comparisons++;
+            if (keys[heap[best]] >= k) break;
+            heap[i] = heap[best]; pos[heap[i]] = i;
+            i = best;
+        }
+        heap[i] = v; pos[v] = i;
+    }
+}
@@ -0,0 +1,48 @@
+package graph;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+public final class Labels {
+    private Labels() {}
+
+    public static String toAlphabet(int idx) {
+        char[] buf = new char[8];
+        int at = buf.length;
+        while (idx >= 0) {
+            buf[--at] = (char) ('A' + idx % 26);
+            idx = idx / 26 - 1;
+        }
+        return new String(buf, at, buf.length - at);
+    }
+
+    public static int fromAlphabet(String label) {
+        int len = label.length();
+        if (len == 0 || len > 7) return -1;
+        long idx = 0;
+        for (int i = 0; i < len; i++) {
+            char c = label.charAt(i);
+            if (c < 'A' || c > 'Z') return -1;
+            idx = idx * 26 + (c - 'A' + 1);
+        }
+        return idx - 1 > Integer.MAX_VALUE ? -1 : (int) (idx - 1);
+    }
+
+    public static boolean isAlphabetSequence(List<String> labels) {
+        for (int i = 0, n = labels.size(); i < n; i++)
+            if (fromAlphabet(labels.get(i)) != i) return false;
+        return true;
+    }
+
+    public static ToIntFunction<String> indexer(List<String> labels) {
+        if (isAlphabetSequence(labels)) return Labels::fromAlphabet;
+        Map<String, Integer> index = indexOf(labels);
+        return label -> index.getOrDefault(label, -1);
+    }
+
+    static Map<String, Integer> indexOf(List<String> labels) {
+        Map<String, Integer> index = new HashMap<>(Math.max(16, (int) (labels.size() / 0.75f) + 1));
+        for (int i = 0, n = labels.size(); i < n; i++) index.putIfAbsent(labels.get(i), i);
+        return index;
+    }
+}
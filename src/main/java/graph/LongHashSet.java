@@ -0,0 +1,67 @@
+package graph;
+
+import java.util.Arrays;
+
+/** Open-addressing set of longs with linear probing; {@code Long.MIN_VALUE} cannot be stored. */
+public class LongHashSet {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] slots;
+    private int mask, size = 0, limit;
+
+    public LongHashSet(int expected) {
+        int cap = Integer.highestOneBit(Math.max(4, (int) Math.min(1 << 30, expected * 2L)) - 1) << 1;
+        allocate(cap);
+    }
+
+    public int size() { return size; }
+
+    public boolean contains(long key) {
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            long s = slots[i];
+            if (s == key) return true;
+            if (s == EMPTY) return false;
+        }
+    }
+
+    public boolean add(long key) {
+        if (key == EMPTY) throw new IllegalArgumentException("Long.MIN_VALUE is reserved");
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            long s = slots[i];
+            if (s == key) return false;
+            if (s == EMPTY) {
+                slots[i] = key;
+                if (++size > limit) rehash();
+                return true;
+            }
+        }
+    }
+
+    public static long pair(int u, int v) {
+        long a = Math.min(u, v), b = Math.max(u, v);
+        return (a << 32) | b;
+    }
+
+    private int index(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int cap) {
+        slots = new long[cap];
+        Arrays.fill(slots, EMPTY);
+        mask = cap - 1;
+        limit = cap / 2;
+    }
+
+    private void rehash() {
+        long[] old = slots;
+        allocate(old.length * 2);
+        for (long s : old) {
+            if (s == EMPTY) continue;
+            int i = index(s);
+            while (slots[i] != EMPTY) i = (i + 1) & mask;
+            slots[i] = s;
+        }
+    }
+}
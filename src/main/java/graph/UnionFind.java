@@ -2,28 +2,45 @@ package graph;
 
 public class UnionFind {
     private final int[] p, r;
+    private final boolean counting;
 
     public long finds = 0;
     public long unions = 0;
 
-    public UnionFind(int n) {
+    public UnionFind(int n) { this(n, true); }
+
+    public UnionFind(int n, boolean counting) {
+        this.counting = counting;
         p = new int[n]; r = new int[n];
         for (int i = 0; i < n; i++) { p[i] = i; r[i] = 0; }
     }
 
     public int find(int x) {
-        finds++;
-        if (p[x] != x) p[x] = find(p[x]);
-        return p[x];
+        if (counting) finds++;
+        int[] p = this.p;
+        while (p[x] != x) {
+            p[x] = p[p[x]];
+            x = p[x];
+        }
+        return x;
     }
 
     public boolean union(int a, int b) {
-        unions++;
+        if (counting) unions++;
         int ra = find(a), rb = find(b);
         if (ra == rb) return false;
+        link(ra, rb);
+        return true;
+    }
+
+    public void unionRoots(int ra, int rb) {
+        if (counting) unions++;
+        link(ra, rb);
+    }
+
+    private void link(int ra, int rb) {
         if (r[ra] < r[rb]) p[ra] = rb;
         else if (r[rb] < r[ra]) p[rb] = ra;
         else { p[rb] = ra; r[ra]++; }
-        return true;
     }
 }
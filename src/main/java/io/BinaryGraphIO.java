@@ -0,0 +1,284 @@
+package io;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import graph.CsrGraph;
+import graph.Labels;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Binary CSR graph container, little-endian:
+ * header {@code magic:int version:int graphCount:int}, then per graph
+ * {@code sectionBytes:long id:int n:int slots:int flags:int offsets:int[n+1] targets:int[slots] weights:double[slots]}
+ * followed, when {@code flags & COORDINATES}, by {@code x:double[n] y:double[n]} and, when
+ * {@code flags & LABELS}, by {@code n} labels as {@code length:int utf8:byte[length]}.
+ * The reader maps each array section and bulk-copies it into the heap arrays {@link CsrGraph} is built on,
+ * so a load skips parsing but still costs one sequential copy and 12 bytes per slot of heap.
+ */
+public final class BinaryGraphIO {
+    public static final int MAGIC = 0x4D535447;
+    public static final int VERSION = 1;
+    public static final String EXTENSION = ".mstg";
+
+    private static final int HEADER_BYTES = 12;
+    private static final int SECTION_HEADER_BYTES = 16;
+    private static final int FLAG_LABELS = 1;
+    private static final int FLAG_COORDINATES = 2;
+    /** Largest region mapped at once; array sections are mapped in pieces so no single map exceeds int indexing. */
+    private static final long MAP_CHUNK = 1L << 30;
+
+    private BinaryGraphIO() {}
+
+    public static boolean isBinary(File file) throws IOException {
+        if (file.length() < HEADER_BYTES) return false;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return Integer.reverseBytes(in.readInt()) == MAGIC;
+        }
+    }
+
+    public static void jsonToBinary(File json, File binary) throws IOException {
+        try (GraphStreamReader in = new GraphStreamReader(json); Writer out = new Writer(binary)) {
+            for (GraphStreamReader.Entry e; (e = in.next()) != null; ) out.write(e.id, e.graph, e.x, e.y);
+        }
+    }
+
+    public static void binaryToJson(File binary, File json, boolean indent) throws IOException {
+        try (Reader in = new Reader(binary);
+             JsonGenerator gen = new JsonFactory().createGenerator(new BufferedOutputStream(new FileOutputStream(json), 1 << 16), JsonEncoding.UTF8)) {
+            if (indent) gen.useDefaultPrettyPrinter();
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("graphs");
+            for (GraphStreamReader.Entry e; (e = in.next()) != null; ) writeJson(gen, e);
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeJson(JsonGenerator gen, GraphStreamReader.Entry e) throws IOException {
+        CsrGraph g = e.graph;
+        int n = g.size();
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) names[i] = g.hasLabels() ? g.labelOf(i) : Labels.toAlphabet(i);
+
+        gen.writeStartObject();
+        gen.writeNumberField("id", e.id);
+        gen.writeArrayFieldStart("nodes");
+        for (String name : names) gen.writeString(name);
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("edges");
+        for (int u = 0; u < n; u++) {
+            for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                int v = g.target(i);
+                if (v < u) continue;
+                double w = g.weight(i);
+                gen.writeStartObject();
+                gen.writeStringField("from", names[u]);
+                gen.writeStringField("to", names[v]);
+                if (w == Math.rint(w) && Math.abs(w) < 1L << 53) gen.writeNumberField("weight", (long) w);
+                else gen.writeNumberField("weight", w);
+                gen.writeEndObject();
+            }
+        }
+        gen.writeEndArray();
+        if (e.x != null) {
+            gen.writeArrayFieldStart("coordinates");
+            for (int i = 0; i < n; i++) {
+                gen.writeStartArray();
+                gen.writeNumber(e.x[i]);
+                gen.writeNumber(e.y[i]);
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    public static class Writer implements Closeable {
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private int count = 0;
+
+        public Writer(File file) throws IOException {
+            ch = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(0).flip();
+            writeFully(header);
+        }
+
+        public void write(int id, CsrGraph g) throws IOException {
+            write(id, g, null, null);
+        }
+
+        /** Writes g with optional point coordinates, one pair per vertex. */
+        public void write(int id, CsrGraph g, double[] x, double[] y) throws IOException {
+            int n = g.size(), slots = 2 * g.edgeCount();
+            if ((x == null) != (y == null) || x != null && (x.length != n || y.length != n))
+                throw new IllegalArgumentException("Graph " + id + " needs " + n + " coordinate pairs");
+            byte[][] labels = null;
+            long labelBytes = 0;
+            if (g.hasLabels()) {
+                labels = new byte[n][];
+                for (int i = 0; i < n; i++) {
+                    labels[i] = g.labelOf(i).getBytes(StandardCharsets.UTF_8);
+                    labelBytes += 4 + labels[i].length;
+                }
+            }
+            long coordinateBytes = x != null ? 16L * n : 0;
+            long section = SECTION_HEADER_BYTES + 4L * (n + 1) + 4L * slots + 8L * slots + coordinateBytes + labelBytes;
+            int flags = (labels != null ? FLAG_LABELS : 0) | (x != null ? FLAG_COORDINATES : 0);
+
+            ByteBuffer head = ByteBuffer.allocate(8 + SECTION_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            head.putLong(section).putInt(id).putInt(n).putInt(slots).putInt(flags).flip();
+            writeFully(head);
+
+            IntBuffer offsets = g.offsets();
+            while (offsets.hasRemaining()) putInts(offsets);
+            IntBuffer targets = g.targets();
+            while (targets.hasRemaining()) putInts(targets);
+            DoubleBuffer weights = g.weights();
+            while (weights.hasRemaining()) putDoubles(weights);
+            if (x != null) {
+                for (DoubleBuffer c = DoubleBuffer.wrap(x); c.hasRemaining(); ) putDoubles(c);
+                for (DoubleBuffer c = DoubleBuffer.wrap(y); c.hasRemaining(); ) putDoubles(c);
+            }
+            if (labels != null) {
+                for (byte[] l : labels) {
+                    if (buf.remaining() < 4 + l.length) drain();
+                    if (buf.remaining() >= 4 + l.length) buf.putInt(l.length).put(l);
+                    else writeFully(ByteBuffer.allocate(4 + l.length).order(ByteOrder.LITTLE_ENDIAN).putInt(l.length).put(l).flip());
+                }
+                drain();
+            }
+            count++;
+        }
+
+        private void putInts(IntBuffer src) throws IOException {
+            int k = Math.min(src.remaining(), buf.remaining() / 4);
+            buf.asIntBuffer().put(src.slice().limit(k));
+            buf.position(buf.position() + 4 * k);
+            src.position(src.position() + k);
+            drain();
+        }
+
+        private void putDoubles(DoubleBuffer src) throws IOException {
+            int k = Math.min(src.remaining(), buf.remaining() / 8);
+            buf.asDoubleBuffer().put(src.slice().limit(k));
+            buf.position(buf.position() + 8 * k);
+            src.position(src.position() + k);
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buf.flip();
+            writeFully(buf);
+            buf.clear();
+        }
+
+        private void writeFully(ByteBuffer b) throws IOException {
+            while (b.hasRemaining()) ch.write(b);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (ch) {
+                ByteBuffer c = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(count).flip();
+                while (c.hasRemaining()) ch.write(c, 8 + (4 - c.remaining()));
+            }
+        }
+    }
+
+    /** Reads graphs one at a time; each returned graph owns heap copies of its arrays, independent of the file. */
+    public static class Reader implements GraphSource {
+        private final FileChannel ch;
+        private final int count;
+        private int read = 0;
+        private long position = HEADER_BYTES;
+
+        public Reader(File file) throws IOException {
+            ch = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            ByteBuffer header = ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) { ch.close(); throw new IOException("Not a binary graph file: " + file); }
+            int version = header.getInt();
+            if (version != VERSION) { ch.close(); throw new IOException("Unsupported binary graph version " + version); }
+            count = header.getInt();
+        }
+
+        public int graphCount() { return count; }
+
+        @Override
+        public GraphStreamReader.Entry next() throws IOException {
+            if (read == count) return null;
+            ByteBuffer len = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            while (len.hasRemaining()) if (ch.read(len, position + len.position()) < 0) throw new EOFException();
+            long section = len.flip().getLong();
+
+            MappedByteBuffer head = ch.map(FileChannel.MapMode.READ_ONLY, position + 8, SECTION_HEADER_BYTES);
+            head.order(ByteOrder.LITTLE_ENDIAN);
+            int id = head.getInt(), n = head.getInt(), slots = head.getInt(), flags = head.getInt();
+
+            int[] offsets = new int[n + 1];
+            int[] targets = new int[slots];
+            double[] weights = new double[slots];
+            long at = position + 8 + SECTION_HEADER_BYTES;
+            at = readInts(at, offsets);
+            at = readInts(at, targets);
+            at = readDoubles(at, weights);
+            double[] x = null, y = null;
+            if ((flags & FLAG_COORDINATES) != 0) {
+                at = readDoubles(at, x = new double[n]);
+                at = readDoubles(at, y = new double[n]);
+            }
+
+            List<String> labels = null;
+            if ((flags & FLAG_LABELS) != 0) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(ch.position(at)), 1 << 16));
+                String[] names = new String[n];
+                byte[] tmp = new byte[64];
+                for (int i = 0; i < n; i++) {
+                    int l = Integer.reverseBytes(in.readInt());
+                    if (l > tmp.length) tmp = new byte[l];
+                    in.readFully(tmp, 0, l);
+                    names[i] = new String(tmp, 0, l, StandardCharsets.UTF_8);
+                }
+                labels = Arrays.asList(names);
+            }
+
+            position += 8 + section;
+            read++;
+            return new GraphStreamReader.Entry(id, CsrGraph.of(n, offsets, targets, weights, labels), x, y);
+        }
+
+        private long readInts(long at, int[] dst) throws IOException {
+            for (int i = 0; i < dst.length; ) {
+                int k = (int) Math.min(dst.length - i, MAP_CHUNK / 4);
+                ch.map(FileChannel.MapMode.READ_ONLY, at, 4L * k).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(dst, i, k);
+                i += k; at += 4L * k;
+            }
+            return at;
+        }
+
+        private long readDoubles(long at, double[] dst) throws IOException {
+            for (int i = 0; i < dst.length; ) {
+                int k = (int) Math.min(dst.length - i, MAP_CHUNK / 8);
+                ch.map(FileChannel.MapMode.READ_ONLY, at, 8L * k).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(dst, i, k);
+                i += k; at += 8L * k;
+            }
+            return at;
+        }
+
+        @Override
+        public void close() throws IOException { ch.close(); }
+    }
+}
@@ -0,0 +1,152 @@
+package io;
+
+import graph.CsrGraph;
+import graph.EdgeList;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Flat edge stream for graphs that do not fit in memory, little-endian:
+ * header {@code magic:int version:int n:int reserved:int edgeCount:long}, then
+ * {@code edgeCount} records of {@code u:int v:int w:double}.
+ */
+public final class EdgeFile {
+    public static final int MAGIC = 0x4D535445;
+    public static final int VERSION = 1;
+    public static final String EXTENSION = ".mste";
+    public static final int RECORD_BYTES = 16;
+
+    private static final int HEADER_BYTES = 24;
+
+    private EdgeFile() {}
+
+    public static boolean isEdgeFile(File file) throws IOException {
+        if (file.length() < HEADER_BYTES) return false;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return Integer.reverseBytes(in.readInt()) == MAGIC;
+        }
+    }
+
+    public static void write(File file, CsrGraph g) throws IOException {
+        try (Writer w = new Writer(file, g.size())) {
+            g.forEachEdge(w::addUnchecked);
+        }
+    }
+
+    public static class Writer implements Closeable {
+        private final FileChannel ch;
+        private final ByteBuffer buf;
+        private final int n;
+        private long count = 0;
+
+        public Writer(File file, int n) throws IOException {
+            this(file, n, 1 << 20);
+        }
+
+        public Writer(File file, int n, int bufferBytes) throws IOException {
+            this.n = n;
+            this.buf = ByteBuffer.allocateDirect(Math.max(RECORD_BYTES, bufferBytes / RECORD_BYTES * RECORD_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+            ch = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            buf.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(0).putLong(0);
+        }
+
+        public void add(int u, int v, double w) throws IOException {
+            if (u < 0 || u >= n || v < 0 || v >= n) throw new IndexOutOfBoundsException("Edge " + u + "-" + v + " outside 0.." + (n - 1));
+            if (buf.remaining() < RECORD_BYTES) drain();
+            buf.putInt(u).putInt(v).putDouble(w);
+            count++;
+        }
+
+        public void addAll(EdgeList e, int from, int to) throws IOException {
+            for (int i = from; i < to; i++) add(e.u[i], e.v[i], e.w[i]);
+        }
+
+        private void addUnchecked(int u, int v, double w) {
+            try {
+                add(u, v, w);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public long count() { return count; }
+
+        private void drain() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (ch) {
+                drain();
+                ByteBuffer c = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(count).flip();
+                while (c.hasRemaining()) ch.write(c, 16 + (8 - c.remaining()));
+            }
+        }
+    }
+
+    public static class Reader implements Closeable {
+        private final File file;
+        private final FileChannel ch;
+        private final ByteBuffer buf;
+        private final int n;
+        private final long count;
+        private long read = 0;
+
+        public Reader(File file) throws IOException {
+            this(file, 1 << 20);
+        }
+
+        public Reader(File file, int bufferBytes) throws IOException {
+            this.file = file;
+            ch = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) if (ch.read(header) < 0) { ch.close(); throw new EOFException("Truncated edge file: " + file); }
+            header.flip();
+            if (header.getInt() != MAGIC) { ch.close(); throw new IOException("Not an edge file: " + file); }
+            int version = header.getInt();
+            if (version != VERSION) { ch.close(); throw new IOException("Unsupported edge file version " + version); }
+            n = header.getInt();
+            header.getInt();
+            count = header.getLong();
+            buf = ByteBuffer.allocateDirect(Math.max(RECORD_BYTES, bufferBytes / RECORD_BYTES * RECORD_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+            buf.limit(0);
+        }
+
+        public int vertexCount() { return n; }
+        public long edgeCount() { return count; }
+        public long remaining() { return count - read; }
+
+        /**
+         * Appends up to {@code max} records to {@code into}; returns how many were read, 0 at the end.
+         * A record whose endpoints fall outside {@code 0..n-1} fails with its byte offset in the file.
+         */
+        public int read(EdgeList into, int max) throws IOException {
+            int k = 0;
+            while (k < max && read < count) {
+                if (buf.remaining() < RECORD_BYTES) fill();
+                int u = buf.getInt(), v = buf.getInt();
+                if (u < 0 || u >= n || v < 0 || v >= n)
+                    throw new IOException(file + ": edge " + u + "-" + v + " at offset " + (HEADER_BYTES + read * RECORD_BYTES) + " outside 0.." + (n - 1));
+                into.add(u, v, buf.getDouble());
+                read++; k++;
+            }
+            return k;
+        }
+
+        private void fill() throws IOException {
+            buf.compact();
+            while (buf.position() < RECORD_BYTES) if (ch.read(buf) < 0) throw new EOFException("Edge file ends after " + read + " of " + count + " records");
+            buf.flip();
+        }
+
+        @Override
+        public void close() throws IOException { ch.close(); }
+    }
+}
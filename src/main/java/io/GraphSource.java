@@ -0,0 +1,12 @@
+package io;
+
+import java.io.*;
+
+public interface GraphSource extends Closeable {
+    GraphStreamReader.Entry next() throws IOException;
+
+    static GraphSource open(File file) throws IOException {
+        if (BinaryGraphIO.isBinary(file)) return new BinaryGraphIO.Reader(file);
+        return new GraphStreamReader(file);
+    }
+}
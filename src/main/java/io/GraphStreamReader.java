@@ -0,0 +1,127 @@
+package io;
+
+import com.fasterxml.jackson.core.*;
+import graph.CsrGraph;
+import graph.Labels;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+public class GraphStreamReader implements GraphSource {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonParser p;
+    private boolean inArray = false, done = false;
+
+    public static class Entry {
+        public final int id;
+        public final CsrGraph graph;
+        /** Point coordinates from the optional "coordinates" field, or null. */
+        public final double[] x, y;
+        Entry(int id, CsrGraph graph) { this(id, graph, null, null); }
+        Entry(int id, CsrGraph graph, double[] x, double[] y) { this.id = id; this.graph = graph; this.x = x; this.y = y; }
+    }
+
+    public GraphStreamReader(File file) throws IOException {
+        this(new FileInputStream(file));
+    }
+
+    public GraphStreamReader(InputStream in) throws IOException {
+        p = FACTORY.createParser(new BufferedInputStream(in, 1 << 16));
+    }
+
+    @Override
+    public Entry next() throws IOException {
+        if (done) return null;
+        if (!inArray && !seekGraphs()) { done = true; return null; }
+        if (p.nextToken() != JsonToken.START_OBJECT) { done = true; return null; }
+        return readGraph();
+    }
+
+    private boolean seekGraphs() throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) throw new JsonParseException(p, "Expected an object with a \"graphs\" array");
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken t = p.nextToken();
+            if ("graphs".equals(field) && t == JsonToken.START_ARRAY) return inArray = true;
+            p.skipChildren();
+        }
+        return false;
+    }
+
+    private Entry readGraph() throws IOException {
+        int id = 0;
+        List<String> nodes = null;
+        CsrGraph.Builder b = null;
+        double[][] xy = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> id = p.getIntValue();
+                case "nodes" -> nodes = readNodes();
+                case "edges" -> {
+                    if (nodes == null) throw new JsonParseException(p, "\"nodes\" must precede \"edges\" in graph " + id);
+                    b = CsrGraph.builder(nodes.size()).labels(nodes);
+                    readEdges(b, nodes.size(), Labels.indexer(nodes));
+                }
+                case "coordinates" -> xy = readCoordinates();
+                default -> p.skipChildren();
+            }
+        }
+        if (nodes == null) throw new JsonParseException(p, "Graph " + id + " has no \"nodes\"");
+        if (b == null) b = CsrGraph.builder(nodes.size()).labels(nodes);
+        if (xy != null && xy[0].length != nodes.size())
+            throw new JsonParseException(p, "Graph " + id + " has " + xy[0].length + " coordinates for " + nodes.size() + " nodes");
+        return xy == null ? new Entry(id, b.build()) : new Entry(id, b.build(), xy[0], xy[1]);
+    }
+
+    private double[][] readCoordinates() throws IOException {
+        double[] x = new double[16], y = new double[16];
+        int n = 0;
+        if (p.currentToken() != JsonToken.START_ARRAY) throw new JsonParseException(p, "\"coordinates\" must be an array of [x, y] pairs");
+        for (JsonToken t; (t = p.nextToken()) != JsonToken.END_ARRAY; n++) {
+            if (t != JsonToken.START_ARRAY) throw new JsonParseException(p, "Coordinates must be [x, y] pairs");
+            if (n == x.length) { x = Arrays.copyOf(x, 2 * n); y = Arrays.copyOf(y, 2 * n); }
+            x[n] = coordinate(); y[n] = coordinate();
+            if (p.nextToken() != JsonToken.END_ARRAY) throw new JsonParseException(p, "Coordinates must be [x, y] pairs");
+        }
+        return new double[][]{Arrays.copyOf(x, n), Arrays.copyOf(y, n)};
+    }
+
+    private double coordinate() throws IOException {
+        if (!p.nextToken().isNumeric()) throw new JsonParseException(p, "Coordinates must be numbers");
+        double c = p.getDoubleValue();
+        if (!Double.isFinite(c)) throw new JsonParseException(p, "Coordinate " + p.getText() + " is not finite");
+        return c;
+    }
+
+    private List<String> readNodes() throws IOException {
+        List<String> nodes = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) nodes.add(p.getText());
+        return nodes;
+    }
+
+    private void readEdges(CsrGraph.Builder b, int n, ToIntFunction<String> index) throws IOException {
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            int u = -1, v = -1;
+            double w = 0;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "from" -> u = index.applyAsInt(p.getText());
+                    case "to" -> v = index.applyAsInt(p.getText());
+                    case "weight" -> w = p.getDoubleValue();
+                    default -> p.skipChildren();
+                }
+            }
+            if (u < 0 || v < 0 || u >= n || v >= n) throw new JsonParseException(p, "Edge references an unknown vertex");
+            b.addEdge(u, v, w);
+        }
+    }
+
+    @Override
+    public void close() throws IOException { p.close(); }
+}
@@ -2,10 +2,13 @@ package io;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.*;
+import graph.CsrGraph;
 import graph.Graph;
+import graph.Labels;
 
 import java.io.*;
 import java.util.*;
+import java.util.function.ToIntFunction;
 
 public class JsonIO {
     private static final ObjectMapper M = new ObjectMapper()
@@ -13,7 +16,11 @@ public class JsonIO {
             .setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
     public static class InputEdge { public String from; public String to; public double weight; }
-    public static class InputGraph { public int id; public List<String> nodes; public List<InputEdge> edges; }
+    public static class InputGraph {
+        public int id; public List<String> nodes; public List<InputEdge> edges;
+        /** Optional [x, y] per node, in node order; enables the Euclidean MST. */
+        public List<double[]> coordinates;
+    }
     public static class InputData { public List<InputGraph> graphs; }
 
     public static class AlgoOut {
@@ -24,11 +31,21 @@ public class JsonIO {
         public String error;
     }
 
+    public static class ForestOut {
+        public List<Map<String,Object>> mst_edges;
+        public double total_cost;
+        public int components;
+        public List<Double> component_costs;
+        public double execution_time_ms;
+    }
     public static class ResultItem {
         public int graph_id;
         public Map<String,Integer> input_stats;
         public AlgoOut prim;
         public AlgoOut kruskal;
+        public AlgoOut boruvka;
+        public AlgoOut euclidean;
+        public ForestOut spanning_forest;
     }
     public static class OutputData { public List<ResultItem> results = new ArrayList<>(); }
 
@@ -46,14 +63,18 @@ public class JsonIO {
 
     public static Graph toGraph(InputGraph ig) {
         Graph g = new Graph(ig.nodes);
-        for (InputEdge e : ig.edges) {
-            int u = g.indexOfLabel(e.from);
-            int v = g.indexOfLabel(e.to);
-            g.addEdge(u, v, e.weight);
-        }
+        ToIntFunction<String> index = Labels.indexer(ig.nodes);
+        for (InputEdge e : ig.edges) g.addEdge(index.applyAsInt(e.from), index.applyAsInt(e.to), e.weight);
         return g;
     }
 
+    public static CsrGraph toCsr(InputGraph ig) {
+        CsrGraph.Builder b = CsrGraph.builder(ig.nodes.size()).labels(ig.nodes).expectEdges(ig.edges.size());
+        ToIntFunction<String> index = Labels.indexer(ig.nodes);
+        for (InputEdge e : ig.edges) b.addEdge(index.applyAsInt(e.from), index.applyAsInt(e.to), e.weight);
+        return b.build();
+    }
+
     public static Map<String,Object> edgeObj(String from, String to, double w) {
         Map<String,Object> m = new LinkedHashMap<>();
         m.put("from", from); m.put("to", to); m.put("weight", w);
@@ -0,0 +1,103 @@
+package io;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import algo.MstResult;
+
+import java.io.*;
+import java.util.function.IntFunction;
+
+public class ResultWriter implements Closeable, Flushable {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonGenerator gen;
+    private final IntFunction<String> label;
+    private boolean closed = false;
+
+    public ResultWriter(File file, boolean indent, IntFunction<String> label) throws IOException {
+        this(new BufferedOutputStream(new FileOutputStream(file), 1 << 16), indent, label);
+    }
+
+    public ResultWriter(OutputStream out, boolean indent, IntFunction<String> label) throws IOException {
+        this.gen = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        this.label = label;
+        if (indent) gen.useDefaultPrettyPrinter();
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("results");
+    }
+
+    public void beginResult(int graphId, int vertices, int edges) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("graph_id", graphId);
+        gen.writeObjectFieldStart("input_stats");
+        gen.writeNumberField("vertices", vertices);
+        gen.writeNumberField("edges", edges);
+        gen.writeEndObject();
+    }
+
+    public void algorithm(String name, MstResult r, double timeMs) throws IOException {
+        gen.writeObjectFieldStart(name);
+        if (r.success) {
+            writeEdges(r);
+            gen.writeNumberField("total_cost", r.totalCost);
+            gen.writeNumberField("operations_count", r.operations);
+            gen.writeNumberField("execution_time_ms", timeMs);
+        } else {
+            gen.writeNumberField("total_cost", 0.0);
+            gen.writeNumberField("operations_count", 0L);
+            gen.writeNumberField("execution_time_ms", 0.0);
+            gen.writeStringField("error", r.error);
+        }
+        gen.writeEndObject();
+    }
+
+    public void forest(MstResult forest, double[] componentCosts, double timeMs) throws IOException {
+        gen.writeObjectFieldStart("spanning_forest");
+        writeEdges(forest);
+        gen.writeNumberField("total_cost", forest.totalCost);
+        gen.writeNumberField("components", componentCosts.length);
+        gen.writeArrayFieldStart("component_costs");
+        for (double c : componentCosts) gen.writeNumber(c);
+        gen.writeEndArray();
+        gen.writeNumberField("execution_time_ms", timeMs);
+        gen.writeEndObject();
+    }
+
+    private void writeEdges(MstResult r) throws IOException {
+        gen.writeArrayFieldStart("mst_edges");
+        for (int i = 0, size = r.size(); i < size; i++) {
+            gen.writeStartObject();
+            gen.writeStringField("from", label.apply(r.from(i)));
+            gen.writeStringField("to", label.apply(r.to(i)));
+            gen.writeNumberField("weight", r.weight(i));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    public void endResult() throws IOException {
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void flush() throws IOException { gen.flush(); }
+
+    /** Ends the document early with an {@code "error"} field after the results written so far. */
+    public void fail(String message) throws IOException {
+        closed = true;
+        gen.writeEndArray();
+        gen.writeStringField("error", message == null ? "unknown error" : message);
+        gen.writeEndObject();
+        gen.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        gen.writeEndArray();
+        gen.writeEndObject();
+        gen.close();
+    }
+}
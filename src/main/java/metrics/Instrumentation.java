@@ -0,0 +1,37 @@
+package metrics;
+
+public interface Instrumentation {
+    enum Phase { SORT, PARTITION, UNION_FIND, HEAP, ROUND }
+
+    Instrumentation NONE = new Instrumentation() {
+        @Override public void comparisons(long n) {}
+        @Override public void moves(long n) {}
+        @Override public void pushes(long n) {}
+        @Override public void pops(long n) {}
+        @Override public void finds(long n) {}
+        @Override public void unions(long n) {}
+        @Override public void heapSize(long size) {}
+        @Override public long phaseStart() { return 0; }
+        @Override public void phaseEnd(Phase phase, long start) {}
+        @Override public long total() { return 0; }
+    };
+
+    void comparisons(long n);
+    void moves(long n);
+    void pushes(long n);
+    void pops(long n);
+    void finds(long n);
+    void unions(long n);
+    void heapSize(long size);
+
+    long phaseStart();
+    void phaseEnd(Phase phase, long start);
+
+    long total();
+
+    default void done() {}
+
+    static Instrumentation forRun(String algorithm) {
+        return new JfrInstrumentation(algorithm, new Metrics());
+    }
+}
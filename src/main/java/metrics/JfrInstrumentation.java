@@ -0,0 +1,72 @@
+package metrics;
+
+import jdk.jfr.*;
+
+public class JfrInstrumentation implements Instrumentation {
+    private final String algorithm;
+    private final Metrics delegate;
+
+    @Name("algorithms3.MstPhase")
+    @Label("MST Phase")
+    @Category({"Algorithms", "MST"})
+    static class PhaseEvent extends Event {
+        @Label("Algorithm") String algorithm;
+        @Label("Phase") String phase;
+        @Label("Phase Time") @Timespan(Timespan.NANOSECONDS) long nanos;
+    }
+
+    @Name("algorithms3.MstRun")
+    @Label("MST Run")
+    @Category({"Algorithms", "MST"})
+    static class RunEvent extends Event {
+        @Label("Algorithm") String algorithm;
+        @Label("Comparisons") long comparisons;
+        @Label("Moves") long moves;
+        @Label("Pushes") long pushes;
+        @Label("Pops") long pops;
+        @Label("Union-Find Finds") long finds;
+        @Label("Union-Find Unions") long unions;
+        @Label("Heap High-Water Mark") long heapHighWater;
+    }
+
+    public JfrInstrumentation(String algorithm, Metrics delegate) {
+        this.algorithm = algorithm;
+        this.delegate = delegate;
+    }
+
+    public Metrics metrics() { return delegate; }
+
+    @Override public void comparisons(long n) { delegate.comparisons(n); }
+    @Override public void moves(long n) { delegate.moves(n); }
+    @Override public void pushes(long n) { delegate.pushes(n); }
+    @Override public void pops(long n) { delegate.pops(n); }
+    @Override public void finds(long n) { delegate.finds(n); }
+    @Override public void unions(long n) { delegate.unions(n); }
+    @Override public void heapSize(long size) { delegate.heapSize(size); }
+    @Override public long phaseStart() { return delegate.phaseStart(); }
+    @Override public long total() { return delegate.total(); }
+
+    @Override
+    public void phaseEnd(Phase phase, long start) {
+        long nanos = System.nanoTime() - start;
+        delegate.phaseNanos[phase.ordinal()] += nanos;
+        PhaseEvent e = new PhaseEvent();
+        if (e.shouldCommit()) {
+            e.algorithm = algorithm; e.phase = phase.name(); e.nanos = nanos;
+            e.commit();
+        }
+    }
+
+    @Override
+    public void done() {
+        RunEvent e = new RunEvent();
+        if (e.shouldCommit()) {
+            e.algorithm = algorithm;
+            e.comparisons = delegate.comparisons; e.moves = delegate.moves;
+            e.pushes = delegate.pushes; e.pops = delegate.pops;
+            e.finds = delegate.ufFinds; e.unions = delegate.ufUnions;
+            e.heapHighWater = delegate.heapHighWater;
+            e.commit();
+        }
+    }
+}
@@ -1,13 +1,30 @@
 package metrics;
 
-public class Metrics {
+public class Metrics implements Instrumentation {
     public long comparisons = 0;
+    public long moves = 0;
     public long pushes = 0;
     public long pops = 0;
     public long ufFinds = 0;
     public long ufUnions = 0;
+    public long heapHighWater = 0;
+    public final long[] phaseNanos = new long[Phase.values().length];
 
+    @Override public void comparisons(long n) { comparisons += n; }
+    @Override public void moves(long n) { moves += n; }
+    @Override public void pushes(long n) { pushes += n; }
+    @Override public void pops(long n) { pops += n; }
+    @Override public void finds(long n) { ufFinds += n; }
+    @Override public void unions(long n) { ufUnions += n; }
+    @Override public void heapSize(long size) { if (size > heapHighWater) heapHighWater = size; }
+
+    @Override public long phaseStart() { return System.nanoTime(); }
+    @Override public void phaseEnd(Phase phase, long start) { phaseNanos[phase.ordinal()] += System.nanoTime() - start; }
+
+    public long phaseNanos(Phase phase) { return phaseNanos[phase.ordinal()]; }
+
+    @Override
     public long total() {
-        return comparisons + pushes + pops + ufFinds + ufUnions;
+        return comparisons + moves + pushes + pops + ufFinds + ufUnions;
     }
 }
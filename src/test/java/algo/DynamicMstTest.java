@@ -0,0 +1,106 @@
+package algo;
+
+import graph.CsrGraph;
+import graph.Edge;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicMstTest {
+
+    private static double forestCost(int n, Map<Integer, Edge> live) {
+        List<Edge> list = new ArrayList<>(live.values());
+        list.sort(Comparator.comparingDouble(e -> e.w));
+        graph.UnionFind uf = new graph.UnionFind(n);
+        double cost = 0;
+        for (Edge e : list) if (uf.union(e.u, e.v)) cost += e.w;
+        return cost;
+    }
+
+    @Test
+    void startsFromComputedTree() {
+        CsrGraph g = cli.GraphGenerator.generateCsr(200, 0.1, cli.GraphGenerator.Weights.CONTINUOUS, 4);
+        var k = Kruskal.mst(g);
+        DynamicMst d = DynamicMst.of(g, k.edges());
+        assertEquals(k.totalCost, d.totalCost(), 1e-6);
+        assertEquals(g.size() - 1, d.treeSize());
+        assertEquals(g.edgeCount(), d.edgeCount());
+    }
+
+    @Test
+    void partialOrEmptySeed_StillGivesMinimumForest() {
+        CsrGraph g = cli.GraphGenerator.generateCsr(150, 0.1, cli.GraphGenerator.Weights.INT_1_100, 9);
+        var k = Kruskal.mst(g);
+        List<Edge> all = new ArrayList<>();
+        g.forEachEdge((u, v, w) -> all.add(new Edge(u, v, w)));
+        for (List<Edge> seed : List.of(List.<Edge>of(), k.edges().subList(0, k.size() / 2), all.subList(0, g.size() - 1))) {
+            DynamicMst d = DynamicMst.of(g, seed);
+            assertEquals(k.totalCost, d.totalCost(), 1e-6);
+            assertEquals(k.size(), d.treeSize());
+            assertEquals(g.edgeCount(), d.edgeCount());
+        }
+    }
+
+    @Test
+    void randomUpdates_MatchRecomputation() {
+        int n = 60;
+        Random r = new Random(42);
+        DynamicMst d = new DynamicMst(n);
+        Map<Integer, Edge> live = new HashMap<>();
+
+        for (int step = 0; step < 4000; step++) {
+            int op = r.nextInt(10);
+            if (op < 5 || live.isEmpty()) {
+                int u = r.nextInt(n), v = r.nextInt(n);
+                if (u == v) continue;
+                double w = r.nextInt(50);
+                live.put(d.addEdge(u, v, w), new Edge(u, v, w));
+            } else {
+                List<Integer> ids = new ArrayList<>(live.keySet());
+                int id = ids.get(r.nextInt(ids.size()));
+                if (op < 8) {
+                    double w = r.nextInt(50);
+                    d.updateWeight(id, w);
+                    Edge e = live.get(id);
+                    live.put(id, new Edge(e.u, e.v, w));
+                } else {
+                    d.removeEdge(id);
+                    live.remove(id);
+                }
+            }
+            assertEquals(forestCost(n, live), d.totalCost(), 1e-9, "step " + step);
+        }
+
+        double sum = d.treeEdges().stream().mapToDouble(e -> e.w).sum();
+        assertEquals(d.totalCost(), sum, 1e-9);
+    }
+
+    @Test
+    void removedIds_AreReused() {
+        DynamicMst d = new DynamicMst(10);
+        for (int v = 1; v < 10; v++) d.addEdge(0, v, v);
+        for (int round = 0; round < 1000; round++) {
+            int id = d.addEdge(round % 9 + 1, (round + 1) % 9 + 1, round % 7);
+            assertTrue(id < 10, "id " + id + " must come from the free list");
+            d.removeEdge(id);
+        }
+        assertEquals(9, d.edgeCount());
+        assertEquals(45, d.totalCost(), 1e-9);
+    }
+
+    @Test
+    void pathMax_AndConnectivity() {
+        DynamicMst d = new DynamicMst(4);
+        d.addEdge(0, 1, 3);
+        d.addEdge(1, 2, 8);
+        assertTrue(d.connected(0, 2));
+        assertFalse(d.connected(0, 3));
+        assertEquals(8, d.maxOnPath(0, 2), 1e-9);
+        int id = d.addEdge(0, 2, 5);
+        assertTrue(d.isTreeEdge(id));
+        assertEquals(5, d.maxOnPath(1, 2), 1e-9);
+        assertEquals(8, d.totalCost(), 1e-9);
+    }
+}
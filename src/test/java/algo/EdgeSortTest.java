@@ -0,0 +1,66 @@
+package algo;
+
+import graph.EdgeList;
+import metrics.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EdgeSortTest {
+
+    private EdgeList randomEdges(int m, boolean integral, Random r) {
+        EdgeList e = new EdgeList(m);
+        for (int i = 0; i < m; i++) {
+            double w = integral ? 1 + r.nextInt(100) : (r.nextDouble() - 0.5) * 1e6;
+            e.add(i, i + 1, w);
+        }
+        return e;
+    }
+
+    private void assertSortedPermutation(EdgeList before, EdgeList after) {
+        double[] expected = Arrays.copyOf(before.w, before.size());
+        Arrays.sort(expected);
+        assertArrayEquals(expected, Arrays.copyOf(after.w, after.size()));
+        for (int i = 0; i < after.size(); i++) {
+            int id = after.u[i];
+            assertEquals(id + 1, after.v[i], "endpoints must move together");
+            assertEquals(before.w[id], after.w[i], "weight must stay with its endpoints");
+        }
+    }
+
+    @Test
+    void integralWeights_CountingSort() {
+        Random r = new Random(7);
+        EdgeList e = randomEdges(5000, true, r);
+        EdgeList copy = randomEdges(5000, true, new Random(7));
+        Metrics M = new Metrics();
+        EdgeSort.sort(e, M);
+        assertSortedPermutation(copy, e);
+        assertTrue(M.total() > 0, "sort must report operations");
+
+        EdgeList none = randomEdges(5000, true, new Random(7));
+        EdgeSort.sort(none, metrics.Instrumentation.NONE);
+        assertSortedPermutation(copy, none);
+    }
+
+    @Test
+    void continuousWeights_RadixSort() {
+        EdgeList e = randomEdges(5000, false, new Random(11));
+        EdgeList copy = randomEdges(5000, false, new Random(11));
+        Metrics M = new Metrics();
+        EdgeSort.sort(e, M);
+        assertSortedPermutation(copy, e);
+        assertTrue(M.total() > 0);
+    }
+
+    @Test
+    void smallRange_InsertionSort() {
+        EdgeList e = randomEdges(20, false, new Random(3));
+        EdgeList copy = randomEdges(20, false, new Random(3));
+        EdgeSort.sort(e, new Metrics());
+        assertSortedPermutation(copy, e);
+    }
+}
@@ -0,0 +1,48 @@
+package algo;
+
+import graph.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EuclideanMstTest {
+
+    private static MstResult bruteForce(double[] x, double[] y) {
+        int n = x.length;
+        CsrGraph.Builder b = CsrGraph.builder(n).expectEdges(n * (n - 1) / 2);
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++) {
+                double dx = x[i] - x[j], dy = y[i] - y[j];
+                b.addEdge(i, j, Math.sqrt(dx * dx + dy * dy));
+            }
+        return Kruskal.mst(b.build());
+    }
+
+    @Test
+    void randomPoints_MatchCompleteGraphKruskal() {
+        Random r = new Random(4);
+        for (int n : new int[]{1, 2, 3, 9, 50, 300}) {
+            double[] x = new double[n], y = new double[n];
+            for (int i = 0; i < n; i++) { x[i] = r.nextDouble() * 1000; y[i] = r.nextDouble() * 1000; }
+            MstResult e = EuclideanMst.mst(x, y);
+            assertTrue(e.success);
+            assertEquals(n - 1, e.size());
+            assertEquals(bruteForce(x, y).totalCost, e.totalCost, 1e-6, "n=" + n);
+        }
+    }
+
+    @Test
+    void latticeWithDuplicates_TiesStillGiveMinimumTree() {
+        int side = 12, n = side * side + 20;
+        double[] x = new double[n], y = new double[n];
+        for (int i = 0; i < side * side; i++) { x[i] = i % side; y[i] = i / side; }
+        Random r = new Random(8);
+        for (int i = side * side; i < n; i++) { int j = r.nextInt(side * side); x[i] = x[j]; y[i] = y[j]; }
+        MstResult e = EuclideanMst.mst(x, y);
+        assertEquals(n - 1, e.size());
+        assertEquals(bruteForce(x, y).totalCost, e.totalCost, 1e-9);
+        assertEquals(side * side - 1, e.totalCost, 1e-9);
+    }
+}
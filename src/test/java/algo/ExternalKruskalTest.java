@@ -0,0 +1,78 @@
+package algo;
+
+import cli.GraphGenerator;
+import graph.CsrGraph;
+import io.EdgeFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalKruskalTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void spilledRuns_MatchInMemoryKruskal() throws Exception {
+        for (GraphGenerator.Weights weights : GraphGenerator.Weights.values()) {
+            CsrGraph g = GraphGenerator.generateCsr(400, 0.2, weights, 9);
+            File f = tmp.resolve("g-" + weights + EdgeFile.EXTENSION).toFile();
+            EdgeFile.write(f, g);
+
+            var expected = Kruskal.mst(g);
+            var spilled = ExternalKruskal.mst(f, 64 * 1024, tmp.toFile());
+            var resident = ExternalKruskal.mst(f);
+            assertTrue(spilled.success);
+            assertEquals(g.size() - 1, spilled.size());
+            assertEquals(expected.totalCost, spilled.totalCost, 1e-6);
+            assertEquals(expected.totalCost, resident.totalCost, 1e-6);
+        }
+        assertEquals(GraphGenerator.Weights.values().length, tmp.toFile().list().length, "run files must be deleted");
+    }
+
+    @Test
+    void tinyBudget_MergesInSeveralPasses() throws Exception {
+        CsrGraph g = GraphGenerator.generateCsr(500, 0.3, GraphGenerator.Weights.TIES_1_4, 3);
+        File f = tmp.resolve("many-runs" + EdgeFile.EXTENSION).toFile();
+        EdgeFile.write(f, g);
+        File spill = tmp.resolve("spill").toFile();
+        assertTrue(spill.mkdir());
+
+        // 1024-edge chunks give ~37 runs; an 8 KB budget allows merging 3 at a time
+        var r = ExternalKruskal.mst(f, 8 * 1024, spill);
+        assertTrue(r.success);
+        assertEquals(Kruskal.mst(g).totalCost, r.totalCost, 1e-9);
+        assertEquals(0, spill.list().length, "run files must be deleted");
+    }
+
+    @Test
+    void disconnected_ReportsError() throws Exception {
+        CsrGraph g = CsrGraph.builder(4).addEdge(0, 1, 1).addEdge(2, 3, 1).build();
+        File f = tmp.resolve("d" + EdgeFile.EXTENSION).toFile();
+        EdgeFile.write(f, g);
+        assertFalse(ExternalKruskal.mst(f, 1024, tmp.toFile()).success);
+    }
+
+    @Test
+    void outOfRangeVertex_FailsWithRecordOffset() throws Exception {
+        CsrGraph g = CsrGraph.builder(3).addEdge(0, 1, 1).addEdge(1, 2, 2).build();
+        File f = tmp.resolve("bad" + EdgeFile.EXTENSION).toFile();
+        EdgeFile.write(f, g);
+        try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+            raf.seek(24 + EdgeFile.RECORD_BYTES + 4);
+            raf.writeInt(Integer.reverseBytes(7));
+        }
+        try (EdgeFile.Reader in = new EdgeFile.Reader(f)) {
+            IOException e = assertThrows(IOException.class, () -> in.read(new graph.EdgeList(2), 2));
+            assertTrue(e.getMessage().contains("offset 40"), e.getMessage());
+        }
+        assertThrows(UncheckedIOException.class, () -> ExternalKruskal.mst(f, 1024, tmp.toFile()));
+    }
+}
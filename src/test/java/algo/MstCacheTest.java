@@ -0,0 +1,78 @@
+package algo;
+
+import cli.GraphGenerator;
+import graph.CsrGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MstCacheTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void sameContent_HitsAndDifferentContent_Misses() {
+        CsrGraph a = GraphGenerator.generateCsr(300, 0.1, GraphGenerator.Weights.CONTINUOUS, 1);
+        CsrGraph sameAsA = GraphGenerator.generateCsr(300, 0.1, GraphGenerator.Weights.CONTINUOUS, 1).toGraph().toCsr();
+        CsrGraph b = GraphGenerator.generateCsr(300, 0.1, GraphGenerator.Weights.CONTINUOUS, 2);
+        assertEquals(a.fingerprint(), sameAsA.fingerprint());
+        assertNotEquals(a.fingerprint(), b.fingerprint());
+
+        MstCache cache = new MstCache(1 << 20);
+        AtomicInteger runs = new AtomicInteger();
+        MstResult first = cache.get("kruskal", a, () -> { runs.incrementAndGet(); return Kruskal.mst(a); });
+        MstResult again = cache.get("kruskal", sameAsA, () -> { runs.incrementAndGet(); return Kruskal.mst(sameAsA); });
+        cache.get("kruskal", b, () -> { runs.incrementAndGet(); return Kruskal.mst(b); });
+        cache.get("prim", a, () -> { runs.incrementAndGet(); return Prim.mst(a); });
+
+        assertEquals(first.totalCost, again.totalCost, 0.0);
+        assertEquals(first.size(), again.size());
+        assertEquals(0, again.operations);
+        assertEquals(3, runs.get());
+        assertEquals(1, cache.hits());
+        assertEquals(3, cache.misses());
+    }
+
+    @Test
+    void lruEvictsAndDiskTierSurvivesRestart() {
+        CsrGraph[] gs = new CsrGraph[4];
+        for (int i = 0; i < gs.length; i++) gs[i] = GraphGenerator.generateCsr(200, 0.1, GraphGenerator.Weights.INT_1_100, 10 + i);
+
+        MstCache small = new MstCache(2 * (96 + 48 * 199), tmp.toFile());
+        for (CsrGraph g : gs) small.get("prim", g, () -> Prim.mst(g));
+        assertEquals(2, small.size());
+        assertEquals(2, small.evictions());
+
+        MstCache restarted = new MstCache(1 << 20, tmp.toFile());
+        for (CsrGraph g : gs) {
+            MstResult t = restarted.get("prim", g, () -> fail("must come from disk"));
+            assertEquals(Prim.mst(g).totalCost, t.totalCost, 1e-9);
+            assertEquals(g.size() - 1, t.size());
+        }
+        assertEquals(4, restarted.diskHits());
+        assertEquals(0, restarted.misses());
+    }
+
+    @Test
+    void entryForDifferentSizedGraph_IsAMiss() throws Exception {
+        CsrGraph small = GraphGenerator.generateCsr(50, 0.2, GraphGenerator.Weights.INT_1_100, 5);
+        CsrGraph big = GraphGenerator.generateCsr(80, 0.2, GraphGenerator.Weights.INT_1_100, 6);
+        new MstCache(1 << 20, tmp.toFile()).get("kruskal", small, () -> Kruskal.mst(small));
+
+        // plant the small graph's tree under the big graph's name, as a fingerprint collision would
+        Path planted = tmp.resolve("kruskal-" + Long.toHexString(big.fingerprint()) + ".mstr");
+        Files.copy(tmp.resolve("kruskal-" + Long.toHexString(small.fingerprint()) + ".mstr"), planted);
+
+        MstCache restarted = new MstCache(1 << 20, tmp.toFile());
+        MstResult t = restarted.get("kruskal", big, () -> Kruskal.mst(big));
+        assertEquals(big.size() - 1, t.size());
+        assertEquals(0, restarted.hits());
+        assertEquals(1, restarted.misses());
+    }
+}
@@ -0,0 +1,61 @@
+package algo;
+
+import cli.GraphGenerator;
+import graph.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MstPathIndexTest {
+
+    @Test
+    void maxEdge_MatchesLinkCutTree() {
+        CsrGraph g = GraphGenerator.generateCsr(GraphGenerator.Topology.GRID, 900, GraphGenerator.Weights.CONTINUOUS, 6);
+        MstResult tree = Kruskal.mst(g);
+        MstPathIndex index = MstPathIndex.of(g.size(), tree);
+        DynamicMst reference = DynamicMst.of(g, tree.edges());
+
+        Random r = new Random(1);
+        int q = 2000;
+        int[] us = new int[q], vs = new int[q];
+        for (int i = 0; i < q; i++) { us[i] = r.nextInt(g.size()); vs[i] = r.nextInt(g.size()); }
+        double[] batch = index.maxEdges(us, vs);
+        for (int i = 0; i < q; i++) {
+            assertEquals(reference.maxOnPath(us[i], vs[i]), index.maxEdge(us[i], vs[i]), 0.0);
+            assertEquals(batch[i], index.maxEdge(us[i], vs[i]), 0.0);
+        }
+    }
+
+    @Test
+    void wouldEnter_AgreesWithRecomputation() {
+        int n = 120;
+        CsrGraph g = GraphGenerator.generateCsr(n, 0.05, GraphGenerator.Weights.CONTINUOUS, 2);
+        MstResult tree = Kruskal.mst(g);
+        MstPathIndex index = MstPathIndex.of(n, tree);
+
+        Random r = new Random(9);
+        for (int i = 0; i < 200; i++) {
+            int u = r.nextInt(n), v = r.nextInt(n);
+            if (u == v) continue;
+            double w = 1 + r.nextDouble() * 99;
+            CsrGraph.Builder b = CsrGraph.builder(n);
+            g.forEachEdge(b::addEdge);
+            double withEdge = Kruskal.mst(b.addEdge(u, v, w).build()).totalCost;
+            assertEquals(withEdge < tree.totalCost - 1e-9, index.wouldEnter(u, v, w), "edge " + u + "-" + v + " w=" + w);
+        }
+    }
+
+    @Test
+    void forest_DifferentTreesAlwaysEnter() {
+        MstResult forest = MstResult.builder(2).add(0, 1, 5).add(2, 3, 1).ok(0, 0);
+        MstPathIndex index = MstPathIndex.of(5, forest);
+        assertFalse(index.connected(1, 2));
+        assertEquals(Double.POSITIVE_INFINITY, index.maxEdge(1, 2));
+        assertTrue(index.wouldEnter(1, 4, 1e9));
+        assertEquals(5, index.maxEdge(0, 1));
+        assertFalse(index.wouldEnter(0, 1, 5));
+        assertTrue(index.wouldEnter(0, 1, 4));
+    }
+}
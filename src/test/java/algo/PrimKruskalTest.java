@@ -1,5 +1,6 @@
 package algo;
 
+import graph.CsrGraph;
 import graph.Graph;
 import io.JsonIO;
 import org.junit.jupiter.api.Test;
@@ -52,14 +53,65 @@ public class PrimKruskalTest {
         assertTrue(k.success, "Kruskal must succeed on tiny graph");
 
         assertEquals(p.totalCost, k.totalCost, 1e-9);
+        assertEquals(p.totalCost, Boruvka.mst(g).totalCost, 1e-9);
 
-        assertTreeProperties(g.size(), p.edges);
-        assertTreeProperties(g.size(), k.edges);
+        assertTreeProperties(g.size(), p.edges());
+        assertTreeProperties(g.size(), k.edges());
 
         assertTrue(p.timeMs >= 0.0);   assertTrue(k.timeMs >= 0.0);
         assertTrue(p.operations >= 0); assertTrue(k.operations >= 0);
     }
 
+    @Test
+    void csrGraph_MatchesAdjacencyGraph() {
+        Graph g = tinyGraph();
+        CsrGraph c = CsrGraph.builder(5).labels(List.of("A","B","C","D","E"))
+                .addEdge(0,1,4).addEdge(0,2,3).addEdge(1,2,2).addEdge(1,3,5)
+                .addEdge(2,3,7).addEdge(2,4,8).addEdge(3,4,6)
+                .build();
+
+        assertEquals(7, c.edgeCount());
+        assertEquals(g.toCsr().edgeCount(), c.edgeCount());
+        for (int u = 0; u < g.size(); u++) assertEquals(g.adj().get(u).size(), c.degree(u));
+
+        var p = Prim.mst(c);
+        var k = Kruskal.mst(c);
+        assertTrue(p.success && k.success);
+        assertEquals(Prim.mst(g).totalCost, p.totalCost, 1e-9);
+        assertEquals(p.totalCost, k.totalCost, 1e-9);
+        assertTreeProperties(c.size(), p.edges());
+        assertTreeProperties(c.size(), k.edges());
+    }
+
+    @Test
+    void edgeEnumeration_ListsEachEdgeOnce() {
+        Graph g = tinyGraph();
+        g.addEdge(4,0,9);
+
+        List<graph.Edge> listed = g.edges();
+        assertEquals(8, g.edgeCount());
+        assertEquals(8, listed.size());
+        Set<List<Object>> keys = new HashSet<>();
+        for (graph.Edge e : listed) keys.add(List.of(Math.min(e.u, e.v), Math.max(e.u, e.v), e.w));
+        assertEquals(8, keys.size());
+
+        int streamed = 0;
+        for (var it = g.edgeIterator(); it.hasNext(); it.next()) streamed++;
+        assertEquals(8, streamed);
+    }
+
+    @Test
+    void eagerPrim_MatchesLazyForEveryArity() {
+        Graph g = tinyGraph();
+        var lazy = Prim.mst(g);
+        for (int arity = 2; arity <= 8; arity++) {
+            var eager = Prim.mstEager(g.toCsr(), arity);
+            assertTrue(eager.success);
+            assertEquals(lazy.totalCost, eager.totalCost, 1e-9);
+            assertTreeProperties(g.size(), eager.edges());
+        }
+    }
+
     @Test
     void disconnectedGraph_Handled() {
         List<String> nodes = List.of("A","B","C","D");
@@ -70,6 +122,9 @@ public class PrimKruskalTest {
         var p = Prim.mst(g);
         var k = Kruskal.mst(g);
 
+        assertFalse(Prim.mstEager(g).success, "Eager Prim must report disconnected graph");
+        assertFalse(Kruskal.mstFilter(g).success, "Filter-Kruskal must report disconnected graph");
+        assertFalse(Boruvka.mst(g).success, "Boruvka must report disconnected graph");
         assertFalse(p.success, "Prim must report disconnected graph");
         assertFalse(k.success, "Kruskal must report disconnected graph");
     }
@@ -95,8 +150,19 @@ public class PrimKruskalTest {
             if (p1.success && k1.success) {
                 assertEquals(p1.totalCost, k1.totalCost, 1e-6, "MST costs must match (Prim vs Kruskal), graph " + ig.id);
 
-                assertTreeProperties(g.size(), p1.edges);
-                assertTreeProperties(g.size(), k1.edges);
+                assertTreeProperties(g.size(), p1.edges());
+                assertTreeProperties(g.size(), k1.edges());
+
+                var e1 = Prim.mstEager(g);
+                assertEquals(p1.totalCost, e1.totalCost, 1e-6, "MST costs must match (eager Prim), graph " + ig.id);
+
+                var f1 = Kruskal.mstFilter(g);
+                assertEquals(p1.totalCost, f1.totalCost, 1e-6, "MST costs must match (Filter-Kruskal), graph " + ig.id);
+                assertTreeProperties(g.size(), f1.edges());
+
+                var b1 = Boruvka.mst(g);
+                assertEquals(p1.totalCost, b1.totalCost, 1e-6, "MST costs must match (Boruvka), graph " + ig.id);
+                assertTreeProperties(g.size(), b1.edges());
             }
 
             assertTrue(p1.timeMs >= 0 && k1.timeMs >= 0);
@@ -105,10 +171,10 @@ public class PrimKruskalTest {
             assertEquals(p1.totalCost, p2.totalCost, 1e-9);
             assertEquals(k1.totalCost, k2.totalCost, 1e-9);
 
-            Set<String> pSet1 = asUndirectedSet(p1.edges);
-            Set<String> pSet2 = asUndirectedSet(p2.edges);
-            Set<String> kSet1 = asUndirectedSet(k1.edges);
-            Set<String> kSet2 = asUndirectedSet(k2.edges);
+            Set<String> pSet1 = asUndirectedSet(p1.edges());
+            Set<String> pSet2 = asUndirectedSet(p2.edges());
+            Set<String> kSet1 = asUndirectedSet(k1.edges());
+            Set<String> kSet2 = asUndirectedSet(k2.edges());
 
             assertEquals(pSet1, pSet2, "Prim MST edges must be reproducible, graph " + ig.id);
             assertEquals(kSet1, kSet2, "Kruskal MST edges must be reproducible, graph " + ig.id);
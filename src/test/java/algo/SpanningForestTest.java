@@ -0,0 +1,71 @@
+package algo;
+
+import cli.GraphGenerator;
+import graph.CsrGraph;
+import graph.EdgeList;
+import graph.UnionFind;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpanningForestTest {
+
+    /** Several random components with shuffled vertex ids, plus a few isolated vertices. */
+    private static CsrGraph fragmented(Random r) {
+        int[] sizes = {300, 120, 40, 2, 1, 1, 75};
+        int n = Arrays.stream(sizes).sum();
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        for (int i = n - 1; i > 0; i--) { int j = r.nextInt(i + 1); int t = perm[i]; perm[i] = perm[j]; perm[j] = t; }
+
+        CsrGraph.Builder b = CsrGraph.builder(n);
+        int base = 0;
+        for (int s : sizes) {
+            if (s > 1) {
+                int offset = base;
+                GraphGenerator.generateCsr(s, 0.2, GraphGenerator.Weights.CONTINUOUS, r.nextLong())
+                        .forEachEdge((u, v, w) -> b.addEdge(perm[offset + u], perm[offset + v], w));
+            }
+            base += s;
+        }
+        return b.build();
+    }
+
+    private static double kruskalForestCost(CsrGraph g) {
+        EdgeList e = g.edgeList();
+        Integer[] idx = new Integer[e.size()];
+        for (int i = 0; i < idx.length; i++) idx[i] = i;
+        Arrays.sort(idx, (a, b) -> Double.compare(e.w[a], e.w[b]));
+        UnionFind uf = new UnionFind(g.size());
+        double cost = 0;
+        for (int i : idx) if (uf.union(e.u[i], e.v[i])) cost += e.w[i];
+        return cost;
+    }
+
+    @Test
+    void disconnectedGraph_ForestPerComponent() {
+        CsrGraph g = fragmented(new Random(3));
+        double expected = kruskalForestCost(g);
+        assertFalse(Kruskal.mst(g).success);
+
+        for (Engine engine : Engine.values()) {
+            SpanningForest.Result f = SpanningForest.msf(g, engine);
+            assertEquals(7, f.components(), engine.name());
+            assertEquals(g.size() - 7, f.forest.size(), engine.name());
+            assertEquals(expected, f.forest.totalCost, 1e-6, engine.name());
+            assertEquals(f.forest.totalCost, Arrays.stream(f.componentCost).sum(), 1e-6);
+            f.forest.forEachEdge((u, v, w) -> assertEquals(f.component[u], f.component[v]));
+        }
+    }
+
+    @Test
+    void connectedGraph_SameAsEngine() {
+        CsrGraph g = GraphGenerator.generateCsr(400, 0.1, GraphGenerator.Weights.INT_1_100, 8);
+        SpanningForest.Result f = SpanningForest.msf(g);
+        assertEquals(1, f.components());
+        assertEquals(Kruskal.mst(g).totalCost, f.forest.totalCost, 1e-9);
+    }
+}
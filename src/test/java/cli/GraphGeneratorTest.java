@@ -0,0 +1,65 @@
+package cli;
+
+import algo.Boruvka;
+import algo.Kruskal;
+import algo.Prim;
+import graph.CsrGraph;
+import metrics.Metrics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphGeneratorTest {
+
+    @Test
+    void everyTopology_ConnectedAndEnginesAgree() {
+        for (GraphGenerator.Topology t : GraphGenerator.Topology.values()) {
+            for (GraphGenerator.Weights w : GraphGenerator.Weights.values()) {
+                CsrGraph g = GraphGenerator.generateCsr(t, 500, w, 11);
+                var k = Kruskal.mst(g);
+                assertTrue(k.success, t + "/" + w + " must be connected");
+                assertEquals(k.totalCost, Prim.mst(g).totalCost, 1e-6, t + "/" + w);
+                assertEquals(k.totalCost, Prim.mstEager(g).totalCost, 1e-6, t + "/" + w);
+                assertEquals(k.totalCost, Boruvka.mst(g).totalCost, 1e-6, t + "/" + w);
+            }
+        }
+    }
+
+    @Test
+    void everyTopology_HandlesTinyGraphs() {
+        for (GraphGenerator.Topology t : GraphGenerator.Topology.values())
+            for (int n = 0; n <= 2; n++) {
+                CsrGraph g = GraphGenerator.generateCsr(t, n, GraphGenerator.Weights.CONTINUOUS, 3);
+                assertEquals(n, g.size(), t + " n=" + n);
+                assertEquals(Math.max(0, n - 1), Kruskal.mst(g).size(), t + " n=" + n);
+            }
+    }
+
+    private static double[] weights(CsrGraph g) {
+        java.nio.DoubleBuffer b = g.weights();
+        double[] w = new double[b.remaining()];
+        b.get(w);
+        return w;
+    }
+
+    @Test
+    void derivedWeightFamilies_FollowRequestedDistribution() {
+        for (GraphGenerator.Topology t : new GraphGenerator.Topology[]{GraphGenerator.Topology.GEOMETRIC_KNN, GraphGenerator.Topology.PRIM_ADVERSARIAL}) {
+            double[] ties = weights(GraphGenerator.generateCsr(t, 400, GraphGenerator.Weights.TIES_1_4, 5));
+            assertEquals(4, java.util.Arrays.stream(ties).distinct().count(), t.name());
+            double[] cont = weights(GraphGenerator.generateCsr(t, 400, GraphGenerator.Weights.CONTINUOUS, 5));
+            assertTrue(java.util.Arrays.stream(cont).allMatch(w -> w >= 1 && w <= 100), t.name());
+            assertTrue(java.util.Arrays.stream(cont).distinct().count() > 100, t.name());
+        }
+    }
+
+    @Test
+    void primAdversarial_LazyHeapHoldsMostEdges() {
+        CsrGraph g = GraphGenerator.generateCsr(GraphGenerator.Topology.PRIM_ADVERSARIAL, 400, GraphGenerator.Weights.INT_1_100, 3);
+        Metrics lazy = new Metrics(), eager = new Metrics();
+        Prim.mst(g, lazy);
+        Prim.mstEager(g, Prim.DEFAULT_ARITY, eager);
+        assertTrue(lazy.heapHighWater > g.edgeCount() / 2, "lazy heap " + lazy.heapHighWater + " of " + g.edgeCount());
+        assertTrue(eager.heapHighWater < g.size());
+    }
+}
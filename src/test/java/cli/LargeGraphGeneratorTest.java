@@ -0,0 +1,30 @@
+package cli;
+
+import algo.Kruskal;
+import graph.CsrGraph;
+import graph.LongHashSet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LargeGraphGeneratorTest {
+
+    @Test
+    void sameSeed_SameGraphForAnyThreadCount() {
+        CsrGraph a = LargeGraphGenerator.generateCsr(3000, 0.01, GraphGenerator.Weights.CONTINUOUS, 5, 1);
+        CsrGraph b = LargeGraphGenerator.generateCsr(3000, 0.01, GraphGenerator.Weights.CONTINUOUS, 5, 8);
+        assertEquals(a.offsets(), b.offsets());
+        assertEquals(a.targets(), b.targets());
+        assertEquals(a.weights(), b.weights());
+        assertTrue(Kruskal.mst(a).success, "backbone keeps the graph connected");
+        assertEquals(0.01 * 3000 * 2999 / 2, a.edgeCount(), 0.05 * a.edgeCount());
+    }
+
+    @Test
+    void denseGraph_NoDuplicateEdges() {
+        CsrGraph g = LargeGraphGenerator.generateCsr(400, 0.95, GraphGenerator.Weights.INT_1_100, 3, 4);
+        LongHashSet seen = new LongHashSet(g.edgeCount());
+        g.forEachEdge((u, v, w) -> assertTrue(seen.add(LongHashSet.pair(u, v)), "duplicate " + u + "-" + v));
+        assertEquals(0.95 * 400 * 399 / 2, g.edgeCount(), 0.02 * g.edgeCount());
+    }
+}
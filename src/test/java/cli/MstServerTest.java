@@ -0,0 +1,90 @@
+package cli;
+
+import algo.Engine;
+import algo.Kruskal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graph.CsrGraph;
+import io.BinaryGraphIO;
+import io.JsonIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MstServerTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void jsonAndBinarySubmissions_StreamResultsAndStats() throws Exception {
+        String json = "{\"graphs\":[{\"id\":7,\"nodes\":[\"A\",\"B\",\"C\"],\"edges\":["
+                + "{\"from\":\"A\",\"to\":\"B\",\"weight\":1},{\"from\":\"B\",\"to\":\"C\",\"weight\":2},{\"from\":\"A\",\"to\":\"C\",\"weight\":3}]}]}";
+        CsrGraph big = GraphGenerator.generateCsr(300, 0.1, GraphGenerator.Weights.CONTINUOUS, 4);
+        File bin = tmp.resolve("g" + BinaryGraphIO.EXTENSION).toFile();
+        try (BinaryGraphIO.Writer w = new BinaryGraphIO.Writer(bin)) { w.write(3, big); }
+
+        ObjectMapper m = new ObjectMapper();
+        HttpClient client = HttpClient.newHttpClient();
+        try (MstServer server = new MstServer(0, 2, 4, Engine.KRUSKAL)) {
+            String base = "http://localhost:" + server.port();
+
+            HttpResponse<String> r1 = client.send(HttpRequest.newBuilder(URI.create(base + "/mst?compact"))
+                    .POST(HttpRequest.BodyPublishers.ofString(json)).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, r1.statusCode());
+            JsonIO.OutputData out = m.readValue(r1.body(), JsonIO.OutputData.class);
+            assertEquals(7, out.results.get(0).graph_id);
+            assertEquals(3.0, out.results.get(0).kruskal.total_cost, 1e-9);
+            assertEquals("B", out.results.get(0).kruskal.mst_edges.get(0).get("to"));
+
+            HttpResponse<String> r2 = client.send(HttpRequest.newBuilder(URI.create(base + "/mst?engine=prim-eager"))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(Files.readAllBytes(bin.toPath()))).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, r2.statusCode());
+            JsonNode prim = m.readTree(r2.body()).get("results").get(0).get("prim_eager");
+            assertEquals(Kruskal.mst(big).totalCost, prim.get("total_cost").asDouble(), 1e-6);
+
+            HttpResponse<String> bad = client.send(HttpRequest.newBuilder(URI.create(base + "/mst?engine=nope"))
+                    .POST(HttpRequest.BodyPublishers.ofString(json)).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, bad.statusCode());
+
+            JsonNode stats = m.readTree(client.send(HttpRequest.newBuilder(URI.create(base + "/stats")).build(),
+                    HttpResponse.BodyHandlers.ofString()).body());
+            assertEquals(2, stats.get("graphs").asLong());
+            assertEquals(2, stats.get("latency_ms").get("samples").asInt());
+            assertTrue(stats.get("latency_ms").get("p99").asDouble() > 0);
+            assertEquals(0, stats.get("queue_depth").asInt());
+        }
+    }
+
+    @Test
+    void malformedInput_GetsBadRequestOrErrorField() throws Exception {
+        ObjectMapper m = new ObjectMapper();
+        HttpClient client = HttpClient.newHttpClient();
+        try (MstServer server = new MstServer(0, 1, 2, Engine.KRUSKAL)) {
+            URI uri = URI.create("http://localhost:" + server.port() + "/mst");
+
+            HttpResponse<String> junk = client.send(HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofString("this is not json")).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, junk.statusCode());
+
+            String badLabel = "{\"graphs\":[{\"id\":1,\"nodes\":[\"A\",\"B\"],\"edges\":[{\"from\":\"A\",\"to\":\"B\",\"weight\":1}]},"
+                    + "{\"id\":2,\"nodes\":[\"A\",\"B\"],\"edges\":[{\"from\":\"A\",\"to\":\"Z\",\"weight\":1}]}]}";
+            HttpResponse<String> mid = client.send(HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofString(badLabel)).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, mid.statusCode());
+            JsonNode body = m.readTree(mid.body());
+            assertEquals(1, body.get("results").size());
+            assertEquals(1, body.get("results").get(0).get("graph_id").asInt());
+            assertTrue(body.get("error").asText().contains("unknown vertex"));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentUnionFindTest {
+
+    @Test
+    void parallelUnions_MatchSequential() {
+        int n = 20000, m = 15000;
+        Random r = new Random(5);
+        int[] a = new int[m], b = new int[m];
+        for (int i = 0; i < m; i++) { a[i] = r.nextInt(n); b[i] = r.nextInt(n); }
+
+        UnionFind seq = new UnionFind(n);
+        int merged = 0;
+        for (int i = 0; i < m; i++) if (seq.union(a[i], b[i])) merged++;
+
+        ConcurrentUnionFind par = new ConcurrentUnionFind(n);
+        long parMerged = IntStream.range(0, m).parallel().filter(i -> par.union(a[i], b[i])).count();
+
+        assertEquals(merged, parMerged, "every successful union must merge two distinct sets exactly once");
+        for (int i = 0; i < n; i++) {
+            int j = r.nextInt(n);
+            assertEquals(seq.find(i) == seq.find(j), par.sameSet(i, j));
+        }
+        assertEquals(m, par.unions());
+        assertTrue(par.finds() >= 2L * m);
+    }
+}
@@ -0,0 +1,36 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LabelsTest {
+
+    @Test
+    void alphabetLabels_RoundTrip() {
+        assertEquals("A", Labels.toAlphabet(0));
+        assertEquals("Z", Labels.toAlphabet(25));
+        assertEquals("AA", Labels.toAlphabet(26));
+        assertEquals("AAB", Labels.toAlphabet(703));
+        for (int i : new int[]{0, 1, 25, 26, 701, 702, 18277, 18278, 1_000_000, Integer.MAX_VALUE})
+            assertEquals(i, Labels.fromAlphabet(Labels.toAlphabet(i)));
+        assertEquals(-1, Labels.fromAlphabet("a"));
+        assertEquals(-1, Labels.fromAlphabet(""));
+    }
+
+    @Test
+    void indexer_FallsBackToHashForArbitraryLabels() {
+        assertTrue(Labels.isAlphabetSequence(List.of("A", "B", "C")));
+        assertFalse(Labels.isAlphabetSequence(List.of("B", "A")));
+
+        var idx = Labels.indexer(List.of("Almaty", "Astana", "Shymkent"));
+        assertEquals(1, idx.applyAsInt("Astana"));
+        assertEquals(-1, idx.applyAsInt("Taraz"));
+
+        Graph g = new Graph(List.of("x", "y", "z"));
+        assertEquals(2, g.indexOfLabel("z"));
+        assertEquals(-1, g.indexOfLabel("w"));
+    }
+}
@@ -0,0 +1,100 @@
+package io;
+
+import algo.Prim;
+import graph.CsrGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryGraphIOTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void roundTrip_PreservesCsrArraysAndLabels() throws Exception {
+        CsrGraph labelled = CsrGraph.builder(4).labels(List.of("Almaty", "Astana", "Шымкент", "D"))
+                .addEdge(0, 1, 2.5).addEdge(1, 2, 1).addEdge(2, 3, 7).addEdge(0, 3, 3).build();
+        CsrGraph bare = CsrGraph.builder(3).addEdge(0, 1, 1).addEdge(1, 2, 1).build();
+
+        File f = tmp.resolve("g" + BinaryGraphIO.EXTENSION).toFile();
+        try (BinaryGraphIO.Writer w = new BinaryGraphIO.Writer(f)) {
+            w.write(11, labelled);
+            w.write(12, bare);
+        }
+        assertTrue(BinaryGraphIO.isBinary(f));
+
+        try (GraphSource in = GraphSource.open(f)) {
+            GraphStreamReader.Entry a = in.next();
+            assertEquals(11, a.id);
+            assertEquals(labelled.offsets(), a.graph.offsets());
+            assertEquals(labelled.targets(), a.graph.targets());
+            assertEquals(labelled.weights(), a.graph.weights());
+            assertEquals("Шымкент", a.graph.labelOf(2));
+            assertEquals(Prim.mst(labelled).totalCost, Prim.mst(a.graph).totalCost, 1e-9);
+
+            GraphStreamReader.Entry b = in.next();
+            assertEquals(12, b.id);
+            assertFalse(b.graph.hasLabels());
+            assertEquals(2, b.graph.edgeCount());
+
+            assertNull(in.next());
+        }
+    }
+
+    @Test
+    void jsonConversion_RoundTrips() throws Exception {
+        File json = tmp.resolve("in.json").toFile();
+        java.nio.file.Files.writeString(json.toPath(), "{\"graphs\":[{\"id\":3,\"nodes\":[\"A\",\"B\",\"C\"],\"edges\":["
+                + "{\"from\":\"A\",\"to\":\"B\",\"weight\":4},{\"from\":\"C\",\"to\":\"B\",\"weight\":0.5}]}]}");
+        File bin = tmp.resolve("in" + BinaryGraphIO.EXTENSION).toFile();
+        File back = tmp.resolve("back.json").toFile();
+
+        BinaryGraphIO.jsonToBinary(json, bin);
+        BinaryGraphIO.binaryToJson(bin, back, false);
+
+        JsonIO.InputData data = JsonIO.readInput(back);
+        assertEquals(1, data.graphs.size());
+        assertEquals(3, data.graphs.get(0).id);
+        assertEquals(List.of("A", "B", "C"), data.graphs.get(0).nodes);
+        assertEquals(2, data.graphs.get(0).edges.size());
+        assertEquals(4.5, data.graphs.get(0).edges.stream().mapToDouble(e -> e.weight).sum(), 1e-9);
+    }
+
+    @Test
+    void coordinates_SurviveBothConversions() throws Exception {
+        File json = tmp.resolve("points.json").toFile();
+        java.nio.file.Files.writeString(json.toPath(), "{\"graphs\":[{\"id\":5,\"nodes\":[\"A\",\"B\",\"C\"],\"edges\":[],"
+                + "\"coordinates\":[[0,0],[3,4],[-1.5,2]]}]}");
+        File bin = tmp.resolve("points" + BinaryGraphIO.EXTENSION).toFile();
+        File back = tmp.resolve("points-back.json").toFile();
+
+        BinaryGraphIO.jsonToBinary(json, bin);
+        try (GraphSource in = GraphSource.open(bin)) {
+            GraphStreamReader.Entry e = in.next();
+            assertArrayEquals(new double[]{0, 3, -1.5}, e.x);
+            assertArrayEquals(new double[]{0, 4, 2}, e.y);
+            assertEquals("C", e.graph.labelOf(2));
+        }
+        BinaryGraphIO.binaryToJson(bin, back, false);
+        try (GraphStreamReader in = new GraphStreamReader(back)) {
+            GraphStreamReader.Entry e = in.next();
+            assertArrayEquals(new double[]{0, 3, -1.5}, e.x);
+            assertArrayEquals(new double[]{0, 4, 2}, e.y);
+        }
+    }
+
+    @Test
+    void binaryToJson_LeavesNoOutputWhenInputIsNotBinary() throws Exception {
+        File notBinary = tmp.resolve("plain.mstg").toFile();
+        java.nio.file.Files.writeString(notBinary.toPath(), "{\"graphs\":[]}");
+        File out = tmp.resolve("out.json").toFile();
+        assertThrows(java.io.IOException.class, () -> BinaryGraphIO.binaryToJson(notBinary, out, true));
+        assertFalse(out.exists());
+    }
+}
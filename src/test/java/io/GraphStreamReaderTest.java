@@ -0,0 +1,87 @@
+package io;
+
+import algo.Kruskal;
+import graph.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphStreamReaderTest {
+
+    private GraphStreamReader reader(String json) throws Exception {
+        return new GraphStreamReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void readsGraphsOneAtATime() throws Exception {
+        String json = "{\"meta\":{\"x\":[1,2]},\"graphs\":["
+                + "{\"id\":7,\"nodes\":[\"A\",\"B\",\"C\"],\"edges\":["
+                + "{\"from\":\"A\",\"to\":\"B\",\"weight\":2},{\"from\":\"B\",\"to\":\"C\",\"weight\":1.5}]},"
+                + "{\"id\":8,\"nodes\":[\"x\",\"y\"],\"edges\":[{\"from\":\"y\",\"to\":\"x\",\"weight\":4}]}]}";
+        try (GraphStreamReader r = reader(json)) {
+            GraphStreamReader.Entry first = r.next();
+            assertEquals(7, first.id);
+            assertEquals(3, first.graph.size());
+            assertEquals(2, first.graph.edgeCount());
+            assertEquals("C", first.graph.labelOf(2));
+
+            GraphStreamReader.Entry second = r.next();
+            assertEquals(8, second.id);
+            assertEquals(1, second.graph.degree(0));
+
+            assertNull(r.next());
+            assertNull(r.next());
+        }
+    }
+
+    @Test
+    void readsOptionalCoordinates() throws Exception {
+        String json = "{\"graphs\":[{\"id\":1,\"nodes\":[\"A\",\"B\",\"C\"],\"coordinates\":[[0,0],[3,0],[3,4]]},"
+                + "{\"id\":2,\"nodes\":[\"A\"],\"edges\":[]}]}";
+        try (GraphStreamReader r = reader(json)) {
+            GraphStreamReader.Entry first = r.next();
+            assertArrayEquals(new double[]{0, 3, 3}, first.x);
+            assertArrayEquals(new double[]{0, 0, 4}, first.y);
+            assertEquals(7.0, algo.EuclideanMst.mst(first.x, first.y).totalCost, 1e-12);
+            assertNull(r.next().x);
+        }
+        for (String bad : new String[]{"null", "5", "[[1,2],3]", "[[1,\"a\"]]", "[[1e400,0]]"}) {
+            String graph = "{\"graphs\":[{\"id\":1,\"coordinates\":" + bad + ",\"nodes\":[\"A\"]}]}";
+            try (GraphStreamReader r = reader(graph)) {
+                assertThrows(java.io.IOException.class, r::next, bad);
+            }
+        }
+    }
+
+    @Test
+    void rejectsEdgesBeforeNodes() throws Exception {
+        String json = "{\"graphs\":[{\"id\":1,\"edges\":[],\"nodes\":[\"A\"]}]}";
+        try (GraphStreamReader r = reader(json)) {
+            assertThrows(java.io.IOException.class, r::next);
+        }
+    }
+
+    @Test
+    void dataset_MatchesObjectBinding() throws Exception {
+        File input = new File("src/main/resources/ass_3_input.json");
+        assertTrue(input.exists(), "ass_3_input.json must exist (30 graphs)");
+
+        JsonIO.InputData data = JsonIO.readInput(input);
+        try (GraphStreamReader r = new GraphStreamReader(input)) {
+            for (JsonIO.InputGraph ig : data.graphs) {
+                GraphStreamReader.Entry e = r.next();
+                assertNotNull(e);
+                assertEquals(ig.id, e.id);
+                CsrGraph bound = JsonIO.toCsr(ig);
+                assertEquals(bound.size(), e.graph.size());
+                assertEquals(bound.edgeCount(), e.graph.edgeCount());
+                assertEquals(Kruskal.mst(bound).totalCost, Kruskal.mst(e.graph).totalCost, 1e-9);
+            }
+            assertNull(r.next());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io;
+
+import algo.MstResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graph.Labels;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultWriterTest {
+
+    @Test
+    void streamedOutput_ReadsBackAsOutputData() throws Exception {
+        for (boolean indent : new boolean[]{true, false}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ResultWriter w = new ResultWriter(bytes, indent, Labels::toAlphabet)) {
+                w.beginResult(1, 3, 3);
+                w.algorithm("prim", MstResult.builder(2).add(0, 1, 2).add(1, 2, 1.5).ok(12, 0.25), 0.25);
+                w.algorithm("kruskal", MstResult.err("Graph is disconnected (Kruskal)"), 0);
+                w.forest(MstResult.builder(1).add(0, 1, 2).ok(0, 0.1), new double[]{2, 0}, 0.1);
+                w.endResult();
+            }
+
+            JsonIO.OutputData data = new ObjectMapper().readValue(bytes.toByteArray(), JsonIO.OutputData.class);
+            assertEquals(1, data.results.size());
+            JsonIO.ResultItem item = data.results.get(0);
+            assertEquals(3, item.input_stats.get("vertices"));
+            assertEquals(2, item.prim.mst_edges.size());
+            assertEquals("B", item.prim.mst_edges.get(0).get("to"));
+            assertEquals(3.5, item.prim.total_cost, 1e-9);
+            assertEquals("Graph is disconnected (Kruskal)", item.kruskal.error);
+            assertNull(item.boruvka);
+            assertEquals(2, item.spanning_forest.components);
+            assertEquals(List.of(2.0, 0.0), item.spanning_forest.component_costs);
+        }
+    }
+}
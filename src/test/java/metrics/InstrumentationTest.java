@@ -0,0 +1,68 @@
+package metrics;
+
+import algo.Kruskal;
+import algo.Prim;
+import cli.GraphGenerator;
+import graph.CsrGraph;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentationTest {
+
+    private final CsrGraph g = GraphGenerator.generateCsr(400, 0.2, GraphGenerator.Weights.INT_1_100, 9);
+
+    @Test
+    void counting_RecordsPhasesAndHeapHighWater() {
+        Metrics m = new Metrics();
+        var p = Prim.mst(g, m);
+        assertTrue(p.success);
+        assertEquals(m.total(), p.operations);
+        assertTrue(m.heapHighWater > g.size(), "lazy Prim heap grows past V on dense input");
+        assertTrue(m.phaseNanos(Instrumentation.Phase.HEAP) > 0);
+
+        Metrics e = new Metrics();
+        Prim.mstEager(g, 4, e);
+        assertTrue(e.heapHighWater <= g.size(), "eager Prim heap is bounded by V");
+
+        Metrics k = new Metrics();
+        Kruskal.mst(g, k);
+        assertTrue(k.phaseNanos(Instrumentation.Phase.SORT) > 0);
+        assertTrue(k.phaseNanos(Instrumentation.Phase.UNION_FIND) > 0);
+        assertEquals(g.size() - 1, k.ufUnions);
+    }
+
+    @Test
+    void none_ReportsNothingButSameTree() {
+        var counted = Kruskal.mst(g);
+        var silent = Kruskal.mst(g, Instrumentation.NONE);
+        assertEquals(counted.totalCost, silent.totalCost, 1e-9);
+        assertEquals(0, silent.operations);
+        assertTrue(counted.operations > 0);
+    }
+
+    @Test
+    void jfr_EmitsPhaseAndRunEvents(@TempDir Path tmp) throws Exception {
+        Path file = tmp.resolve("mst.jfr");
+        try (Recording r = new Recording()) {
+            r.enable("algorithms3.MstPhase");
+            r.enable("algorithms3.MstRun");
+            r.start();
+            Kruskal.mst(g);
+            r.stop();
+            r.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("algorithms3.MstPhase")
+                && "SORT".equals(e.getString("phase"))));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("algorithms3.MstRun")
+                && "kruskal".equals(e.getString("algorithm"))));
+    }
+}